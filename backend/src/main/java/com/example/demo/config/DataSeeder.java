@@ -1,6 +1,8 @@
 package com.example.demo.config;
 
+import com.example.demo.model.GameStats;
 import com.example.demo.model.User;
+import com.example.demo.repository.GameStatsRepository;
 import com.example.demo.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
@@ -13,6 +15,9 @@ public class DataSeeder implements CommandLineRunner {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private GameStatsRepository gameStatsRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -35,14 +40,18 @@ public class DataSeeder implements CommandLineRunner {
 
         // Mock Stats for Dashboard
         user.setRankBadge("ASCENDANT I");
-        user.setWins(60);
-        user.setLosses(20);
         user.setKills(1450);
         user.setDeaths(890);
         user.setPlayTime(300); // 300 hours
         user.setBio("Tactical Shooter Veteran from seed.");
 
         userRepository.save(user);
+
+        GameStats ticTacToe = new GameStats(user.getId(), "TICTACTOE");
+        ticTacToe.setGamesPlayed(80);
+        ticTacToe.setWins(60);
+        ticTacToe.setLosses(20);
+        gameStatsRepository.save(ticTacToe);
         System.out.println("Seeded user: " + username);
     }
 }
@@ -0,0 +1,162 @@
+package com.example.demo.config;
+
+import com.example.demo.service.AchievementService;
+import com.example.demo.service.AnalyticsService;
+import com.example.demo.service.FriendService;
+import com.example.demo.service.GameEventBus;
+import com.example.demo.service.MatchmakingService;
+import com.example.demo.service.PresenceService;
+import com.example.demo.service.RateLimitService;
+import com.example.demo.service.RatingService;
+import com.example.demo.service.SeasonService;
+import com.example.demo.service.SnakeArenaService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Exposes the counters the services already keep (LongAdders, queue sizes) on /actuator/prometheus.
+// Everything is read lazily at scrape time, so none of it adds work to the hot paths.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder serviceMetrics(RateLimitService rateLimitService, GameEventBus gameEventBus,
+            MatchmakingService matchmakingService, SnakeArenaService snakeArenaService,
+            PresenceService presenceService, AnalyticsService analyticsService, SeasonService seasonService,
+            FriendService friendService, AchievementService achievementService, RatingService ratingService,
+            DataSource dataSource,
+            ObjectProvider<ReplicaRoutingDataSource> replicaRouting) throws SQLException {
+        // One bulkhead per connection pool: the single pool, or each pool behind replica routing
+        Map<String, BulkheadDataSource> bulkheads = new LinkedHashMap<>();
+        if (dataSource.isWrapperFor(BulkheadDataSource.class)) {
+            bulkheads.put("primary", dataSource.unwrap(BulkheadDataSource.class));
+        }
+        replicaRouting.ifAvailable(routing -> bulkheads.putAll(routing.getBulkheads()));
+        return registry -> {
+            for (String limiter : List.of("chat", "chatClient", "submit")) {
+                for (String outcome : List.of("allowed", "rejected")) {
+                    FunctionCounter.builder("ratelimit.requests", rateLimitService,
+                            service -> service.getStats().get(limiter).get(outcome))
+                            .tag("limiter", limiter).tag("outcome", outcome).register(registry);
+                }
+                Gauge.builder("ratelimit.buckets", rateLimitService, service -> service.getStats().get(limiter).get("buckets"))
+                        .tag("limiter", limiter).register(registry);
+            }
+
+            for (String outcome : List.of("published", "dropped")) {
+                FunctionCounter.builder("gamebus.events", gameEventBus, bus -> stat(bus.getStats(), outcome))
+                        .tag("outcome", outcome).register(registry);
+            }
+            FunctionCounter.builder("gamebus.producer.waits", gameEventBus, bus -> stat(bus.getStats(), "producerWaits"))
+                    .register(registry);
+            for (String subscriber : subscribers(gameEventBus.getStats()).keySet()) {
+                Gauge.builder("gamebus.subscriber.lag", gameEventBus,
+                        bus -> stat(subscribers(bus.getStats()).get(subscriber), "lag"))
+                        .tag("subscriber", subscriber).register(registry);
+                FunctionCounter.builder("gamebus.subscriber.processed", gameEventBus,
+                        bus -> stat(subscribers(bus.getStats()).get(subscriber), "processed"))
+                        .tag("subscriber", subscriber).register(registry);
+                FunctionCounter.builder("gamebus.subscriber.errors", gameEventBus,
+                        bus -> stat(subscribers(bus.getStats()).get(subscriber), "errors"))
+                        .tag("subscriber", subscriber).register(registry);
+            }
+
+            FunctionCounter.builder("matchmaking.matches", matchmakingService,
+                    service -> stat(service.getStats(), "matchesMade")).register(registry);
+            Gauge.builder("matchmaking.tick.micros", matchmakingService,
+                    service -> stat(service.getStats(), "lastTickMicros")).register(registry);
+            for (String game : MatchmakingService.SUPPORTED_GAMES) {
+                Gauge.builder("matchmaking.queued", matchmakingService,
+                        service -> stat((Map<?, ?>) service.getStats().get("queued"), game))
+                        .tag("game", game).register(registry);
+            }
+
+            Gauge.builder("arena.active", snakeArenaService, service -> stat(service.getStats(), "arenas"))
+                    .register(registry);
+            FunctionCounter.builder("arena.ticks", snakeArenaService, service -> stat(service.getStats(), "ticks"))
+                    .register(registry);
+            Gauge.builder("arena.tick.jitter.max.micros", snakeArenaService,
+                    service -> stat(service.getStats(), "maxJitterMicros")).register(registry);
+            Gauge.builder("arena.tick.cpu.max.micros", snakeArenaService,
+                    service -> stat(service.getStats(), "maxTickCpuMicros")).register(registry);
+
+            Gauge.builder("presence.online", presenceService, PresenceService::getOnlineCount).register(registry);
+
+            Gauge.builder("analytics.buckets.open", analyticsService,
+                    service -> stat(service.getStats(), "openBuckets")).register(registry);
+            FunctionCounter.builder("analytics.rows.written", analyticsService,
+                    service -> stat(service.getStats(), "rowsWritten")).register(registry);
+            FunctionCounter.builder("analytics.flush.failures", analyticsService,
+                    service -> stat(service.getStats(), "flushFailures")).register(registry);
+
+            Gauge.builder("seasons.rollover.running", seasonService,
+                    service -> stat(service.getStats(), "rolloverRunning")).register(registry);
+            FunctionCounter.builder("seasons.rollover.chunks", seasonService,
+                    service -> stat(service.getStats(), "chunks")).register(registry);
+            FunctionCounter.builder("seasons.rollover.players", seasonService,
+                    service -> stat(service.getStats(), "playersArchived")).register(registry);
+
+            FunctionCounter.builder("achievements.flush.failures", achievementService,
+                    service -> stat(service.getStats(), "flushFailures")).register(registry);
+            FunctionCounter.builder("achievements.rows.dropped", achievementService,
+                    service -> stat(service.getStats(), "rowsDropped")).register(registry);
+            FunctionCounter.builder("ratings.flush.failures", ratingService,
+                    service -> stat(service.getStats(), "flushFailures")).register(registry);
+            FunctionCounter.builder("ratings.rows.dropped", ratingService,
+                    service -> stat(service.getStats(), "rowsDropped")).register(registry);
+
+            Gauge.builder("friends.graph.players", friendService,
+                    service -> stat(service.getStats(), "players")).register(registry);
+            Gauge.builder("friends.graph.friendships", friendService,
+                    service -> stat(service.getStats(), "friendships")).register(registry);
+            Gauge.builder("friends.online", friendService, service -> stat(service.getStats(), "online"))
+                    .register(registry);
+            FunctionCounter.builder("friends.notifications", friendService,
+                    service -> stat(service.getStats(), "notificationsSent")).register(registry);
+
+            bulkheads.forEach((pool, bulkhead) -> {
+                Gauge.builder("db.bulkhead.in.use", bulkhead, b -> stat(b.getStats(), "inUse"))
+                        .tag("pool", pool).register(registry);
+                Gauge.builder("db.bulkhead.waiting", bulkhead, b -> stat(b.getStats(), "waiting"))
+                        .tag("pool", pool).register(registry);
+                for (String outcome : List.of("acquired", "rejected")) {
+                    FunctionCounter.builder("db.bulkhead.requests", bulkhead, b -> stat(b.getStats(), outcome))
+                            .tag("pool", pool).tag("outcome", outcome).register(registry);
+                }
+            });
+
+            replicaRouting.ifAvailable(routing -> {
+                FunctionCounter.builder("db.routing.connections", routing, r -> stat(r.getStats(), "primaryConnections"))
+                        .tag("target", "primary").register(registry);
+                FunctionCounter.builder("db.routing.connections", routing, r -> stat(r.getStats(), "replicaConnections"))
+                        .tag("target", "replica").register(registry);
+                FunctionCounter.builder("db.routing.fallbacks", routing, r -> stat(r.getStats(), "fallbacks"))
+                        .register(registry);
+                for (Object replica : ((Map<?, ?>) routing.getStats().get("replicas")).keySet()) {
+                    Gauge.builder("db.replica.healthy", routing,
+                            r -> Boolean.TRUE.equals(((Map<?, ?>) r.getStats().get("replicas")).get(replica)) ? 1 : 0)
+                            .tag("replica", replica.toString()).register(registry);
+                }
+            });
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> subscribers(Map<String, Object> stats) {
+        return (Map<String, Object>) stats.get("subscribers");
+    }
+
+    private static double stat(Object stats, String key) {
+        Object value = stats instanceof Map<?, ?> map ? map.get(key) : null;
+        return value instanceof Number number ? number.doubleValue() : Double.NaN;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.config;
+
+import com.example.demo.service.RateLimitService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Registered only inside the security chain (see SecurityConfig), not as a standalone servlet filter
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitService rateLimitService;
+
+    public RateLimitFilter(RateLimitService rateLimitService) {
+        this.rateLimitService = rateLimitService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !("POST".equals(request.getMethod()) && "/api/games/submit".equals(request.getRequestURI()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!rateLimitService.tryGameSubmit(request.getRemoteAddr())) {
+            response.setStatus(429);
+            response.setHeader("Retry-After", "1");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Only active when db.replicas.urls lists at least one replica; otherwise Spring Boot's single pool is used as before
+@Configuration
+@ConditionalOnProperty(name = "db.replicas.urls")
+public class ReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+            DataSourceProperties properties, MeterRegistry meterRegistry,
+            @Value("${db.replicas.urls}") String[] urls,
+            @Value("${db.replicas.username:}") String username,
+            @Value("${db.replicas.password:}") String password, Environment environment) {
+        // Hikari's default applies while the size is unset
+        int poolSize = primaryDataSource.getMaximumPoolSize() > 0 ? primaryDataSource.getMaximumPoolSize() : 10;
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.length; i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setJdbcUrl(urls[i].trim());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+            replica.setPassword(username.isEmpty() ? properties.determinePassword() : password);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            // Replica pools are not beans, so register their pool metrics here
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(replica.getPoolName(), ThreadingConfig.bulkhead(replica, poolSize, environment));
+        }
+        System.out.println("Routing read-only GET traffic to " + replicas.size() + " replica(s)");
+        return new ReplicaRoutingDataSource(ThreadingConfig.bulkhead(primaryDataSource, poolSize, environment),
+                replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.config;
+
+import com.example.demo.service.ReadYourWritesService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+// Lets GET requests read from replicas, unless the player they are about just wrote something and
+// a replica might not have caught up yet. Mutating requests always read and write on the primary.
+public class ReplicaReadInterceptor implements HandlerInterceptor {
+
+    private final ReadYourWritesService readYourWritesService;
+
+    public ReplicaReadInterceptor(ReadYourWritesService readYourWritesService) {
+        this.readYourWritesService = readYourWritesService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if ("GET".equals(request.getMethod()) && !readYourWritesService.isSticky(username(request))) {
+            ReplicaRoutingDataSource.allowReplicaReads();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        ReplicaRoutingDataSource.clearReplicaReads();
+    }
+
+    // From a {username} path variable or a ?username= parameter
+    @SuppressWarnings("unchecked")
+    private static String username(HttpServletRequest request) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables instanceof Map<?, ?> map && map.get("username") != null) {
+            return ((Map<String, String>) map).get("username");
+        }
+        return request.getParameter("username");
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.demo.config;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Hands out replica connections for reads on threads that opted in (GET requests, see
+// ReplicaReadInterceptor), primary connections for everything else. Must sit behind a
+// LazyConnectionDataSourceProxy so the read-only flag is known by the time a connection is fetched.
+// Each pool may sit behind its own BulkheadDataSource; a full replica bulkhead sends the read on to the
+// next replica or the primary without taking the replica out of rotation.
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final ThreadLocal<Boolean> REPLICA_ALLOWED = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder replicaConnections = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas) {
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+    }
+
+    public static void allowReplicaReads() {
+        REPLICA_ALLOWED.set(Boolean.TRUE);
+    }
+
+    public static void clearReplicaReads() {
+        REPLICA_ALLOWED.remove();
+    }
+
+    // For reads whose result gets cached, where a lagging replica would keep serving stale data
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean allowed = REPLICA_ALLOWED.get();
+        REPLICA_ALLOWED.remove();
+        try {
+            return work.get();
+        } finally {
+            if (allowed != null) {
+                REPLICA_ALLOWED.set(allowed);
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        // Plain repository finders run without a transaction, which on a GET thread can only mean a read
+        if (Boolean.TRUE.equals(REPLICA_ALLOWED.get())
+                && (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                        || !TransactionSynchronizationManager.isActualTransactionActive())) {
+            int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    replicaConnections.increment();
+                    return connection;
+                } catch (SQLTransientConnectionException e) {
+                    // Busy, not down
+                } catch (SQLException e) {
+                    // Taken out of rotation until the next health check finds it answering again
+                    markHealthy(replica, false, e.getMessage());
+                }
+            }
+            fallbacks.increment();
+        }
+        primaryConnections.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // Explicit credentials only make sense for the primary; replica pools carry their own
+        primaryConnections.increment();
+        return primary.getConnection(username, password);
+    }
+
+    @Scheduled(fixedDelayString = "${db.replicas.health-check-ms:5000}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                markHealthy(replica, connection.isValid(2), "validation failed");
+            } catch (SQLTransientConnectionException e) {
+                // Every connection in use, so it is answering; leave it as it is
+            } catch (SQLException e) {
+                markHealthy(replica, false, e.getMessage());
+            }
+        }
+    }
+
+    // Bulkheads in front of the pools, keyed by pool name
+    public Map<String, BulkheadDataSource> getBulkheads() {
+        Map<String, BulkheadDataSource> bulkheads = new LinkedHashMap<>();
+        if (primary instanceof BulkheadDataSource bulkhead) {
+            bulkheads.put("primary", bulkhead);
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof BulkheadDataSource bulkhead) {
+                bulkheads.put(replica.name, bulkhead);
+            }
+        }
+        return bulkheads;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("primaryConnections", primaryConnections.sum());
+        stats.put("replicaConnections", replicaConnections.sum());
+        stats.put("fallbacks", fallbacks.sum());
+        Map<String, Object> health = new LinkedHashMap<>();
+        for (Replica replica : replicas) {
+            health.put(replica.name, replica.healthy);
+        }
+        stats.put("replicas", health);
+        return stats;
+    }
+
+    private static void markHealthy(Replica replica, boolean healthy, String reason) {
+        if (replica.healthy != healthy) {
+            replica.healthy = healthy;
+            System.out.println("Replica " + replica.name + (healthy ? " is back in rotation" : " taken out of rotation: " + reason));
+        }
+    }
+
+    private static class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.demo.config;
 
+import com.example.demo.service.RateLimitService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -9,6 +12,7 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -20,14 +24,21 @@ import java.util.List;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    @Autowired
+    private RateLimitService rateLimitService;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource())) // Use the bean below
                 .csrf(AbstractHttpConfigurer::disable)
+                .addFilterBefore(new RateLimitFilter(rateLimitService), AnonymousAuthenticationFilter.class)
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/auth/**", "/api/status", "/api/users/**", "/ws/**", "/api/chat/**",
-                                "/api/games/**", "/api/matches/**")
+                        .requestMatchers("/api/auth/**", "/api/status", "/api/status/**", "/api/users/**", "/ws/**", "/api/chat/**",
+                                "/api/games/**", "/api/matches/**", "/api/presence/**", "/api/matchmaking/**",
+                                "/api/tictactoe/**", "/api/arena/**", "/api/achievements/**", "/api/ratings/**", "/api/analytics/**",
+                                "/api/seasons", "/api/seasons/**", "/api/friends/**",
+                                "/actuator/health", "/actuator/prometheus")
                         .permitAll()
                         .anyRequest().authenticated());
         return http.build();
@@ -48,7 +59,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 }
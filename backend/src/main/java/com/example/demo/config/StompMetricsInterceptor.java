@@ -0,0 +1,60 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Counts STOMP frames per direction and type; on the inbound channel also times their handling.
+// Meters are registered up front so the per-message cost is a map lookup and a LongAdder increment.
+public class StompMetricsInterceptor implements ExecutorChannelInterceptor {
+
+    private final Map<SimpMessageType, Counter> counters = new EnumMap<>(SimpMessageType.class);
+    private final Map<SimpMessageType, Timer> timers = new EnumMap<>(SimpMessageType.class);
+    private final ThreadLocal<long[]> handleStart = ThreadLocal.withInitial(() -> new long[1]);
+
+    public StompMetricsInterceptor(MeterRegistry registry, String direction) {
+        for (SimpMessageType type : SimpMessageType.values()) {
+            counters.put(type, Counter.builder("stomp.messages")
+                    .tag("direction", direction)
+                    .tag("type", type.name())
+                    .register(registry));
+            if ("inbound".equals(direction)) {
+                timers.put(type, Timer.builder("stomp.inbound.handling").tag("type", type.name()).register(registry));
+            }
+        }
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        if (type != null) {
+            counters.get(type).increment();
+        }
+        return message;
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        handleStart.get()[0] = System.nanoTime();
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        Timer timer = type != null ? timers.get(type) : null;
+        if (timer != null) {
+            timer.record(System.nanoTime() - handleStart.get()[0], TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.demo.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executor;
+
+// spring.threads.virtual.enabled=true (on a Java 21+ runtime) switches request handling to virtual threads:
+// Spring Boot covers Tomcat and scheduling, this class covers @Async work and the STOMP channels.
+// On Java 17 the flag is ignored and everything stays on platform thread pools.
+@Configuration
+@EnableAsync
+public class ThreadingConfig implements AsyncConfigurer {
+
+    @Autowired
+    private Environment environment;
+
+    public boolean isVirtual() {
+        return Threading.VIRTUAL.isActive(environment);
+    }
+
+    @PostConstruct
+    public void reportMode() {
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (requested && !isVirtual()) {
+            System.out.println("Virtual threads requested but running on Java " + Runtime.version().feature()
+                    + "; staying on platform threads");
+        } else {
+            System.out.println("Request handling on " + (isVirtual() ? "virtual" : "platform") + " threads");
+        }
+    }
+
+    @Bean
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return executor("async-", 8);
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return applicationTaskExecutor();
+    }
+
+    // For the STOMP inbound/outbound channels; null keeps Spring's default pool
+    public AsyncTaskExecutor channelExecutor(String prefix) {
+        return isVirtual() ? virtualExecutor(prefix) : null;
+    }
+
+    private AsyncTaskExecutor executor(String prefix, int poolSize) {
+        if (isVirtual()) {
+            return virtualExecutor(prefix);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(prefix);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        return executor;
+    }
+
+    private static AsyncTaskExecutor virtualExecutor(String prefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(prefix);
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    // Wraps Spring Boot's single pool; with replicas, ReplicaConfig puts a bulkhead on each pool behind the
+    // routing instead, since one shared semaphore would let writes through at the size of all pools together
+    @Bean
+    public static BeanPostProcessor dataSourceBulkhead(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !environment.containsProperty("db.replicas.urls")) {
+                    return bulkhead(dataSource, environment.getProperty("spring.datasource.hikari.maximum-pool-size",
+                            Integer.class, 10), environment);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Sized to the pool it guards, so waiting for a connection happens on the semaphore, not inside Hikari
+    public static DataSource bulkhead(DataSource pool, int poolSize, Environment environment) {
+        if (pool instanceof BulkheadDataSource || !environment.getProperty("db.bulkhead.enabled", Boolean.class, true)) {
+            return pool;
+        }
+        int permits = environment.getProperty("db.bulkhead.permits", Integer.class, poolSize);
+        long timeoutMs = environment.getProperty("db.bulkhead.acquire-timeout-ms", Long.class, 2_000L);
+        return new BulkheadDataSource(pool, permits, timeoutMs);
+    }
+}
@@ -1,25 +1,134 @@
 package com.example.demo.config;
 
+import com.example.demo.service.PresenceService;
+import com.example.demo.service.RateLimitService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private static final String CLIENT_ADDRESS = "clientAddress";
+
+    @Autowired
+    private PresenceService presenceService;
+
+    @Autowired
+    private RateLimitService rateLimitService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ThreadingConfig threadingConfig;
+
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    @Autowired
+    public void setMessageBrokerTaskScheduler(@Lazy TaskScheduler taskScheduler) {
+        this.messageBrokerTaskScheduler = taskScheduler;
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*") // Allow all origins for dev
+                .addInterceptors(new HandshakeInterceptor() {
+                    // Remembered on the session so the chat limiter can also key on the client, not just the session
+                    @Override
+                    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                            WebSocketHandler wsHandler, Map<String, Object> attributes) {
+                        InetSocketAddress remote = request.getRemoteAddress();
+                        if (remote != null && remote.getAddress() != null) {
+                            attributes.put(CLIENT_ADDRESS, remote.getAddress().getHostAddress());
+                        }
+                        return true;
+                    }
+
+                    @Override
+                    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                            WebSocketHandler wsHandler, Exception exception) {
+                    }
+                })
                 .withSockJS();
     }
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         registry.setApplicationDestinationPrefixes("/app");
-        registry.enableSimpleBroker("/topic");
+        // Negotiate STOMP heart-beats so idle-but-alive clients keep their presence fresh
+        registry.enableSimpleBroker("/topic")
+                .setHeartbeatValue(new long[] { 10_000, 10_000 })
+                .setTaskScheduler(messageBrokerTaskScheduler);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        AsyncTaskExecutor executor = threadingConfig.channelExecutor("stomp-in-");
+        if (executor != null) {
+            registration.executor(executor);
+        }
+        registration.interceptors(new StompMetricsInterceptor(meterRegistry, "inbound"), new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+                if (sessionId == null) {
+                    return message;
+                }
+                presenceService.touch(sessionId);
+
+                // Flooded chat frames are dropped before they reach the controller or the broker
+                if (isChatSend(message) && !rateLimitService.tryChatMessage(sessionId, clientAddress(message))) {
+                    return null;
+                }
+                return message;
+            }
+        });
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        AsyncTaskExecutor executor = threadingConfig.channelExecutor("stomp-out-");
+        if (executor != null) {
+            registration.executor(executor);
+        }
+        registration.interceptors(new StompMetricsInterceptor(meterRegistry, "outbound"));
+    }
+
+    private static String clientAddress(Message<?> message) {
+        Map<String, Object> attributes = SimpMessageHeaderAccessor.getSessionAttributes(message.getHeaders());
+        return attributes != null ? (String) attributes.get(CLIENT_ADDRESS) : null;
+    }
+
+    private static boolean isChatSend(Message<?> message) {
+        StompCommand command = StompHeaderAccessor.getCommand(message.getHeaders());
+        if (command != StompCommand.SEND) {
+            return false;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        return destination != null && destination.startsWith("/app/chat/") && destination.endsWith("/sendMessage");
     }
 }
@@ -0,0 +1,39 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.Achievement;
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.AchievementService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+// Unlocks are pushed live on /topic/achievements/{username}
+@RestController
+@RequestMapping("/api/achievements")
+@CrossOrigin(origins = "http://localhost:5173")
+public class AchievementController {
+
+    @Autowired
+    private AchievementService achievementService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @GetMapping
+    public List<Achievement> getAchievements() {
+        return AchievementService.getDefinitions();
+    }
+
+    @GetMapping("/{username}")
+    public ResponseEntity<?> getUserAchievements(@PathVariable String username) {
+        Optional<User> userOpt = userRepository.findByUsername(username);
+        if (userOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(achievementService.getProgress(userOpt.get().getId()));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.AnalyticsBucket;
+import com.example.demo.service.AnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "http://localhost:5173")
+public class AnalyticsController {
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @GetMapping("/games")
+    public Set<String> getGames() {
+        return analyticsService.getGames();
+    }
+
+    // DAU, rolling 7/30-day uniques and stickiness; use PLATFORM for site-wide numbers
+    @GetMapping("/{game}/summary")
+    public ResponseEntity<?> getSummary(@PathVariable String game) {
+        return ResponseEntity.ok(analyticsService.getSummary(game));
+    }
+
+    @GetMapping("/{game}")
+    public ResponseEntity<?> getSeries(@PathVariable String game,
+            @RequestParam(defaultValue = AnalyticsBucket.DAY) String period,
+            @RequestParam(defaultValue = "30") int count) {
+        try {
+            return ResponseEntity.ok(analyticsService.getSeries(game, period.toUpperCase(), count));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.demo.controller;
 
+import com.example.demo.event.PresenceEvent;
 import com.example.demo.model.ChatMessage;
+import com.example.demo.service.ChatHistoryService;
 import com.example.demo.service.ChatRoomService;
+import com.example.demo.service.PresenceService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
@@ -9,12 +12,9 @@ import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
-import java.util.Map;
-
 @Controller
 public class ChatController {
 
@@ -24,59 +24,57 @@ public class ChatController {
     @Autowired
     private ChatRoomService chatRoomService;
 
+    @Autowired
+    private PresenceService presenceService;
+
+    @Autowired
+    private ChatHistoryService chatHistoryService;
+
     @MessageMapping("/chat/{roomId}/sendMessage")
     public void sendMessageToRoom(@DestinationVariable String roomId, @Payload ChatMessage chatMessage) {
-        if ("public".equals(roomId)) {
-            template.convertAndSend("/topic/public", chatMessage);
-        } else {
-            template.convertAndSend("/topic/room/" + roomId, chatMessage);
+        if (chatMessage.getType() == ChatMessage.MessageType.CHAT) {
+            chatHistoryService.record(roomId, chatMessage);
         }
+        broadcast(roomId, chatMessage);
     }
 
     @MessageMapping("/chat/{roomId}/addUser")
     public void addUser(@DestinationVariable String roomId, @Payload ChatMessage chatMessage,
             SimpMessageHeaderAccessor headerAccessor) {
-
-        // Add username and roomId in web socket session
-        Map<String, Object> sessionAttributes = headerAccessor.getSessionAttributes();
-        if (sessionAttributes != null) {
-            sessionAttributes.put("username", chatMessage.getSender());
-            sessionAttributes.put("roomId", roomId);
-        }
-
-        if ("public".equals(roomId)) {
-            template.convertAndSend("/topic/public", chatMessage);
-        } else {
-            template.convertAndSend("/topic/room/" + roomId, chatMessage);
-        }
+        // JOIN is broadcast from the presence event, only for the user's first session in the room
+        presenceService.join(headerAccessor.getSessionId(), chatMessage.getSender(), roomId);
     }
 
     @EventListener
     public void handleWebSocketDisconnectListener(SessionDisconnectEvent event) {
-        StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
-        Map<String, Object> sessionAttributes = headerAccessor.getSessionAttributes();
+        presenceService.disconnect(event.getSessionId());
+    }
 
-        if (sessionAttributes != null) {
-            String username = (String) sessionAttributes.get("username");
-            String roomId = (String) sessionAttributes.get("roomId");
+    @EventListener
+    public void handlePresenceEvent(PresenceEvent event) {
+        ChatMessage chatMessage = new ChatMessage();
+        chatMessage.setSender(event.getUsername());
 
-            if (username != null && roomId != null) {
-                System.out.println("User Disconnected: " + username + " from Room: " + roomId);
+        if (event.getType() == PresenceEvent.Type.JOINED) {
+            chatMessage.setType(ChatMessage.MessageType.JOIN);
+            broadcast(event.getRoomId(), chatMessage);
+        } else if (event.getType() == PresenceEvent.Type.LEFT) {
+            System.out.println("User Disconnected: " + event.getUsername() + " from Room: " + event.getRoomId());
 
-                // Remove user from the room service
-                chatRoomService.leaveRoom(roomId, username);
+            // Last session of this user left the room
+            chatRoomService.leaveRoom(event.getRoomId(), event.getUsername());
 
-                // Broadcast LEAVE message to the room so clients can update UI
-                ChatMessage chatMessage = new ChatMessage();
-                chatMessage.setType(ChatMessage.MessageType.LEAVE);
-                chatMessage.setSender(username);
+            // Broadcast LEAVE message to the room so clients can update UI
+            chatMessage.setType(ChatMessage.MessageType.LEAVE);
+            broadcast(event.getRoomId(), chatMessage);
+        }
+    }
 
-                if ("public".equals(roomId)) {
-                    template.convertAndSend("/topic/public", chatMessage);
-                } else {
-                    template.convertAndSend("/topic/room/" + roomId, chatMessage);
-                }
-            }
+    private void broadcast(String roomId, ChatMessage chatMessage) {
+        if ("public".equals(roomId)) {
+            template.convertAndSend("/topic/public", chatMessage);
+        } else {
+            template.convertAndSend("/topic/room/" + roomId, chatMessage);
         }
     }
 }
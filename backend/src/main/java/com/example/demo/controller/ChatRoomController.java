@@ -27,6 +27,9 @@ public class ChatRoomController {
         if (roomRequest.getMaxMembers() < 2) {
             return ResponseEntity.badRequest().body("Max members must be at least 2");
         }
+        if (roomRequest.getName() != null && roomRequest.getName().length() > 100) {
+            return ResponseEntity.badRequest().body("Room name must be at most 100 characters");
+        }
 
         ChatRoom newRoom = chatRoomService.createRoom(
                 roomRequest.getName(),
@@ -0,0 +1,39 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.ChatHistoryEntryDTO;
+import com.example.demo.service.ChatHistoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/chat/search")
+@CrossOrigin(origins = "http://localhost:5173")
+public class ChatSearchController {
+
+    private static final int MAX_LIMIT = 200;
+
+    @Autowired
+    private ChatHistoryService chatHistoryService;
+
+    @GetMapping
+    public ResponseEntity<?> search(@RequestParam(required = false) String q,
+            @RequestParam(required = false) String phrase,
+            @RequestParam(required = false) String sender,
+            @RequestParam(required = false) String roomId,
+            @RequestParam(defaultValue = "50") int limit) {
+        if (isBlank(q) && isBlank(phrase) && isBlank(sender)) {
+            return ResponseEntity.badRequest().body("At least one of q, phrase or sender is required");
+        }
+
+        List<ChatHistoryEntryDTO> results = chatHistoryService.search(q, phrase, isBlank(sender) ? null : sender,
+                roomId, Math.max(1, Math.min(limit, MAX_LIMIT)));
+        return ResponseEntity.ok(results);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.FriendService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/friends")
+@CrossOrigin(origins = "http://localhost:5173")
+public class FriendController {
+
+    @Autowired
+    private FriendService friendService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Served from the in-memory graph; the database is only asked whether a friendless user exists
+    @GetMapping("/{username}")
+    public ResponseEntity<?> getFriends(@PathVariable String username) {
+        if (!friendService.isKnown(username) && !userRepository.existsByUsername(username)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(friendService.getFriends(username));
+    }
+
+    @GetMapping("/{username}/online")
+    public ResponseEntity<?> getOnlineFriends(@PathVariable String username) {
+        if (!friendService.isKnown(username) && !userRepository.existsByUsername(username)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(friendService.getOnlineFriends(username));
+    }
+
+    @GetMapping("/{username}/requests")
+    public ResponseEntity<?> getRequests(@PathVariable String username) {
+        Optional<User> user = userRepository.findByUsername(username);
+        if (user.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(friendService.getRequests(user.get()));
+    }
+
+    // Sends a friend request, or accepts it if the other player had already sent one
+    @PostMapping("/{username}/requests/{friend}")
+    public ResponseEntity<?> sendRequest(@PathVariable String username, @PathVariable String friend) {
+        List<User> users = find(username, friend);
+        if (users == null) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(Map.of("status", friendService.request(users.get(0), users.get(1))));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            // Both players sent a request at the same moment
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("A friend request between these players already exists");
+        }
+    }
+
+    @PostMapping("/{username}/requests/{friend}/accept")
+    public ResponseEntity<?> acceptRequest(@PathVariable String username, @PathVariable String friend) {
+        List<User> users = find(username, friend);
+        if (users == null) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            friendService.accept(users.get(0), users.get(1));
+            return ResponseEntity.ok(Map.of("message", "Friend request accepted"));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Unfriend, or decline / withdraw a pending request
+    @DeleteMapping("/{username}/{friend}")
+    public ResponseEntity<?> remove(@PathVariable String username, @PathVariable String friend) {
+        List<User> users = find(username, friend);
+        if (users == null) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            friendService.remove(users.get(0), users.get(1));
+            return ResponseEntity.ok(Map.of("message", "Friend removed"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    private List<User> find(String username, String friend) {
+        Optional<User> user = userRepository.findByUsername(username);
+        Optional<User> other = userRepository.findByUsername(friend);
+        return user.isPresent() && other.isPresent() ? List.of(user.get(), other.get()) : null;
+    }
+}
@@ -1,13 +1,21 @@
 package com.example.demo.controller;
 
-import com.example.demo.model.Game;
+import com.example.demo.dto.UserProfileDTO;
+import com.example.demo.model.PlayerStats;
 import com.example.demo.model.Review;
-import com.example.demo.repository.GameRepository;
-import com.example.demo.repository.ReviewRepository;
+import com.example.demo.model.SnakeSimulation;
+import com.example.demo.service.GameCatalogService;
+import com.example.demo.service.GameResultService;
+import com.example.demo.service.ReviewService;
+import com.example.demo.service.SnakeReplayService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -17,59 +25,72 @@ import java.util.Map;
 public class GameController {
 
     @Autowired
-    private GameRepository gameRepository;
+    private com.example.demo.repository.UserRepository userRepository;
 
     @Autowired
-    private ReviewRepository reviewRepository;
+    private GameResultService gameResultService;
 
     @Autowired
-    private com.example.demo.repository.UserRepository userRepository;
+    private SnakeReplayService snakeReplayService;
 
     @Autowired
-    private com.example.demo.repository.MatchRepository matchRepository;
+    private ReviewService reviewService;
 
+    @Autowired
+    private GameCatalogService gameCatalogService;
+
+    // Served from an in-memory snapshot; clients revalidate with If-None-Match
     @GetMapping
-    public List<Game> getAllGames() {
-        return gameRepository.findAll();
+    public ResponseEntity<byte[]> getAllGames(WebRequest request) {
+        GameCatalogService.Snapshot snapshot = gameCatalogService.getSnapshot();
+        if (request.checkNotModified(snapshot.getEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(30)).cachePublic())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.getJson());
     }
 
     @PostMapping("/init")
     public ResponseEntity<?> initGames() {
-        if (gameRepository.count() == 0) {
-            Game g1 = new Game();
-            g1.setTitle("Cyberpunk Arena");
-            g1.setGenre("Shooter");
-            g1.setRating(4.8);
-            g1.setImageUrl("https://images.unsplash.com/photo-1542751371-adc38448a05e?w=800");
-            gameRepository.save(g1);
-
-            Game g2 = new Game();
-            g2.setTitle("Neon Racer");
-            g2.setGenre("Racing");
-            g2.setRating(4.5);
-            g2.setImageUrl("https://images.unsplash.com/photo-1593508512255-86ab42a8e620?w=800");
-            gameRepository.save(g2);
-
+        if (gameCatalogService.seedIfEmpty()) {
             return ResponseEntity.ok(Map.of("message", "Games Initialized"));
         }
         return ResponseEntity.ok(Map.of("message", "Games already exist"));
     }
 
     @GetMapping("/{gameId}/reviews")
-    public List<Review> getGameReviews(@PathVariable Long gameId) {
-        return reviewRepository.findByGameId(gameId);
+    public ResponseEntity<?> getGameReviews(@PathVariable Long gameId,
+            @RequestParam(defaultValue = "newest") String sort,
+            @RequestParam(required = false) Integer stars,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ReviewService.DEFAULT_PAGE_SIZE) int limit) {
+        if (stars != null && (stars < 1 || stars > 5)) {
+            return ResponseEntity.badRequest().body("Stars must be between 1 and 5");
+        }
+        try {
+            return ResponseEntity.ok(reviewService.getReviews(gameId, sort, stars, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @PostMapping("/{gameId}/reviews")
-    public Review addReview(@PathVariable Long gameId, @RequestBody Review review) {
-        review.setGameId(gameId);
-        return reviewRepository.save(review);
+    public ResponseEntity<?> addReview(@PathVariable Long gameId, @RequestBody Review review) {
+        if (review.getRating() < 1 || review.getRating() > 5) {
+            return ResponseEntity.badRequest().body("Rating must be between 1 and 5");
+        }
+        return reviewService.addReview(gameId, review)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping("/submit")
     public ResponseEntity<?> submitGameResult(@RequestBody Map<String, Object> payload) {
         String username = (String) payload.get("username");
-        String game = (String) payload.get("game");
+        String game = payload.get("game") instanceof String name ? name.trim().toUpperCase() : null;
 
         // Handle different number types (Gson/Jackson might parse as Double)
         int score = 0;
@@ -83,63 +104,44 @@ public class GameController {
             return ResponseEntity.badRequest().body("Missing required fields");
         }
 
-        java.util.Optional<com.example.demo.model.User> userOpt = userRepository.findByUsername(username);
-        if (userOpt.isEmpty()) {
-            return ResponseEntity.notFound().build();
+        if (!GameResultService.SUPPORTED_GAMES.contains(game)) {
+            return ResponseEntity.badRequest().body("Unsupported game");
         }
 
-        com.example.demo.model.User user = userOpt.get();
+        double durationSeconds = 0.0;
+        if (payload.get("duration") instanceof Number) {
+            durationSeconds = Math.max(0, Math.min(((Number) payload.get("duration")).doubleValue(),
+                    GameResultService.MAX_REPORTED_DURATION_SECONDS));
+        }
 
-        if ("SNAKE".equalsIgnoreCase(game)) {
-            // Update Snake High Score
-            if (score > user.getSnakeHighScore()) {
-                user.setSnakeHighScore(score);
+        if ("SNAKE".equals(game)) {
+            // Snake scores are only accepted if a server-side replay of the input log reproduces them
+            if (!(payload.get("seed") instanceof Number seed) || !(payload.get("ticks") instanceof Number ticks)
+                    || !(payload.get("inputs") instanceof List<?> inputList)
+                    || inputList.size() > SnakeReplayService.MAX_TICKS) {
+                return ResponseEntity.badRequest().body("Snake submissions require seed, ticks and inputs");
             }
-        } else if ("TICTACTOE".equalsIgnoreCase(game)) {
-            if ("WIN".equalsIgnoreCase(result)) {
-                user.setWins(user.getWins() + 1);
-            } else if ("LOSS".equalsIgnoreCase(result)) {
-                user.setLosses(user.getLosses() + 1);
+            int[] inputs = new int[inputList.size()];
+            for (int i = 0; i < inputs.length; i++) {
+                if (!(inputList.get(i) instanceof Number input)) {
+                    return ResponseEntity.badRequest().body("Invalid input log");
+                }
+                inputs[i] = input.intValue();
             }
-        }
-
-        // --- DYNAMIC RANKING POLICY ---
-        // Calculate Total XP based on all game stats
-        // TTT Win = 100 XP
-        // Snake Score = 1 XP per point (High Score)
-        // Play Time = 10 XP per hour
-        // Update PlayTime
-        if (payload.containsKey("duration")) {
-            double durationSeconds = 0.0;
-            if (payload.get("duration") instanceof Number) {
-                durationSeconds = ((Number) payload.get("duration")).doubleValue();
+            if (!snakeReplayService.verify(seed.intValue(), inputs, ticks.intValue(), score)) {
+                return ResponseEntity.badRequest().body("Replay verification failed");
             }
-            double hoursToAdd = durationSeconds / 3600.0;
-            user.setPlayTime(user.getPlayTime() + hoursToAdd);
+            // Play time comes from the replay, not the client clock
+            durationSeconds = ticks.intValue() * SnakeSimulation.TICK_MS / 1000.0;
         }
 
-        int newTotalXp = (user.getWins() * 100) + user.getSnakeHighScore() + (int) (user.getPlayTime() * 10);
-        user.setTotalXp(newTotalXp);
-
-        // Update Rank Badge based on XP
-        if (newTotalXp < 500) {
-            user.setRankBadge("Bronze");
-        } else if (newTotalXp < 1500) {
-            user.setRankBadge("Silver");
-        } else if (newTotalXp < 3000) {
-            user.setRankBadge("Gold");
-        } else if (newTotalXp < 5000) {
-            user.setRankBadge("Platinum");
-        } else {
-            user.setRankBadge("Diamond");
+        java.util.Optional<com.example.demo.model.User> userOpt = userRepository.findByUsername(username);
+        if (userOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
         }
 
-        userRepository.save(user);
-
-        // Record Match History
-        com.example.demo.model.Match match = new com.example.demo.model.Match(user, game.toUpperCase(), score, result);
-        matchRepository.save(match);
+        PlayerStats player = gameResultService.recordResult(userOpt.get(), game, score, result, durationSeconds);
 
-        return ResponseEntity.ok(user); // Return updated user stats
+        return ResponseEntity.ok(UserProfileDTO.from(player)); // Return updated user stats
     }
 }
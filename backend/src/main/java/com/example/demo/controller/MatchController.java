@@ -28,7 +28,7 @@ public class MatchController {
         if (userOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        List<Match> matches = matchRepository.findByUserOrderByPlayedAtDesc(userOpt.get());
+        List<Match> matches = matchRepository.findHistory(userOpt.get().getId());
         return ResponseEntity.ok(matches);
     }
 }
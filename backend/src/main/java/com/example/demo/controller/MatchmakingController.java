@@ -0,0 +1,59 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.MatchmakingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/matchmaking")
+@CrossOrigin(origins = "http://localhost:5173")
+public class MatchmakingController {
+
+    @Autowired
+    private MatchmakingService matchmakingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @PostMapping("/queue")
+    public ResponseEntity<?> joinQueue(@RequestBody Map<String, String> payload) {
+        String username = payload.get("username");
+        String game = payload.get("game");
+        if (username == null || game == null) {
+            return ResponseEntity.badRequest().body("Missing required fields");
+        }
+        if (!MatchmakingService.SUPPORTED_GAMES.contains(game.toUpperCase())) {
+            return ResponseEntity.badRequest().body("Unsupported game");
+        }
+
+        Optional<User> userOpt = userRepository.findByUsername(username);
+        if (userOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (!matchmakingService.enqueue(username, game.toUpperCase(), userOpt.get().getTotalXp())) {
+            return ResponseEntity.badRequest().body("Already in queue");
+        }
+        // Match notifications arrive on /topic/matchmaking/{username}
+        return ResponseEntity.ok(Map.of("message", "Queued", "game", game.toUpperCase()));
+    }
+
+    @DeleteMapping("/queue/{username}")
+    public ResponseEntity<?> leaveQueue(@PathVariable String username) {
+        if (!matchmakingService.cancel(username)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(Map.of("message", "Left queue"));
+    }
+
+    @GetMapping("/status")
+    public Map<String, Object> getStatus() {
+        return matchmakingService.getStats();
+    }
+}
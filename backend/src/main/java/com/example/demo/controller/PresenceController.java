@@ -0,0 +1,37 @@
+package com.example.demo.controller;
+
+import com.example.demo.service.PresenceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/presence")
+@CrossOrigin(origins = "http://localhost:5173")
+public class PresenceController {
+
+    @Autowired
+    private PresenceService presenceService;
+
+    @GetMapping
+    public Map<String, Integer> getOnlineCount() {
+        return Map.of("online", presenceService.getOnlineCount());
+    }
+
+    @GetMapping("/users")
+    public Set<String> getOnlineUsers() {
+        return presenceService.getOnlineUsers();
+    }
+
+    @GetMapping("/users/{username}")
+    public Map<String, Boolean> isUserOnline(@PathVariable String username) {
+        return Map.of("online", presenceService.isOnline(username));
+    }
+
+    @GetMapping("/rooms/{roomId}")
+    public Map<String, Integer> getRoomOnlineCount(@PathVariable String roomId) {
+        return Map.of("online", presenceService.getRoomOnlineCount(roomId));
+    }
+}
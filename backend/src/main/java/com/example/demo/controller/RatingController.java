@@ -0,0 +1,91 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.PlayerRating;
+import com.example.demo.model.User;
+import com.example.demo.repository.PlayerRatingRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.RatingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/ratings")
+@CrossOrigin(origins = "http://localhost:5173")
+public class RatingController {
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private PlayerRatingRepository ratingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Shared secret for starting a recompute; recompute over HTTP is disabled while it is unset
+    @Value("${ratings.admin-token:}")
+    private String adminToken;
+
+    @GetMapping("/{game}/leaderboard")
+    public ResponseEntity<?> getLeaderboard(@PathVariable String game, @RequestParam(defaultValue = "50") int limit) {
+        List<PlayerRating> ratings = ratingRepository.findByGameOrderByRatingDesc(game.toUpperCase(),
+                PageRequest.of(0, Math.max(1, Math.min(100, limit))));
+
+        Map<Long, String> usernames = new HashMap<>();
+        for (User user : userRepository.findAllById(ratings.stream().map(PlayerRating::getUserId).toList())) {
+            usernames.put(user.getId(), user.getUsername());
+        }
+
+        List<Map<String, Object>> leaderboard = new ArrayList<>();
+        for (PlayerRating rating : ratings) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("username", usernames.get(rating.getUserId()));
+            entry.put("rating", Math.round(rating.getRating()));
+            entry.put("deviation", Math.round(rating.getDeviation()));
+            entry.put("gamesRated", rating.getGamesRated());
+            leaderboard.add(entry);
+        }
+        return ResponseEntity.ok(leaderboard);
+    }
+
+    @GetMapping("/user/{username}")
+    public ResponseEntity<?> getUserRatings(@PathVariable String username) {
+        Optional<User> userOpt = userRepository.findByUsername(username);
+        if (userOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(ratingRepository.findByUserId(userOpt.get().getId()));
+    }
+
+    // Replays the whole match history under the current rating model, in the background
+    @PostMapping("/{game}/recompute")
+    public ResponseEntity<?> recompute(@RequestHeader(value = "X-Admin-Token", required = false) String token,
+            @PathVariable String game) {
+        if (adminToken.isEmpty() || !adminToken.equals(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Rating recompute is not allowed");
+        }
+        if (!RatingService.RATED_GAMES.contains(game.toUpperCase())) {
+            return ResponseEntity.badRequest().body("Game is not rated");
+        }
+        if (!ratingService.startRecompute(game.toUpperCase())) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("A recompute is already running");
+        }
+        return ResponseEntity.accepted().body(Map.of("message", "Recompute started"));
+    }
+
+    @GetMapping("/recompute")
+    public Map<String, Object> getRecomputeStatus() {
+        return ratingService.getLastRecompute();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.Season;
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.SeasonService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/seasons")
+@CrossOrigin(origins = "http://localhost:5173")
+public class SeasonController {
+
+    @Autowired
+    private SeasonService seasonService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Shared secret for ending a season by hand; rollover over HTTP is disabled while it is unset
+    @Value("${seasons.admin-token:}")
+    private String adminToken;
+
+    @GetMapping
+    public List<Season> getSeasons() {
+        return seasonService.getSeasons();
+    }
+
+    @GetMapping("/current")
+    public ResponseEntity<?> getCurrent() {
+        return ResponseEntity.of(seasonService.getCurrent());
+    }
+
+    @GetMapping("/{number}/standings")
+    public ResponseEntity<?> getStandings(@PathVariable int number, @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        Optional<Season> season = seasonService.getSeason(number);
+        if (season.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!Season.ARCHIVED.equals(season.get().getStatus())) {
+            return ResponseEntity.badRequest().body("Season has not been archived yet");
+        }
+        return ResponseEntity.ok(seasonService.getStandings(season.get(), Math.max(0, page),
+                Math.max(1, Math.min(100, size))));
+    }
+
+    @GetMapping("/{number}/standings/{username}")
+    public ResponseEntity<?> getStanding(@PathVariable int number, @PathVariable String username) {
+        Optional<Season> season = seasonService.getSeason(number);
+        Optional<User> user = userRepository.findByUsername(username);
+        if (season.isEmpty() || user.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!Season.ARCHIVED.equals(season.get().getStatus())) {
+            return ResponseEntity.badRequest().body("Season has not been archived yet");
+        }
+        return ResponseEntity.of(seasonService.getStanding(season.get(), user.get()));
+    }
+
+    // Ends the active season: standings are archived and everyone keeps keepPercent of their XP
+    @PostMapping("/rollover")
+    public ResponseEntity<?> rollover(@RequestHeader(value = "X-Admin-Token", required = false) String token,
+            @RequestParam(defaultValue = "0") int keepPercent) {
+        if (adminToken.isEmpty() || !adminToken.equals(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Season rollover is not allowed");
+        }
+        if (keepPercent < 0 || keepPercent > 100) {
+            return ResponseEntity.badRequest().body("keepPercent must be between 0 and 100");
+        }
+        if (!seasonService.startRollover(keepPercent)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("A rollover is already running");
+        }
+        return ResponseEntity.accepted().body(Map.of("message", "Rollover started"));
+    }
+
+    @GetMapping("/rollover")
+    public Map<String, Object> getRolloverStatus() {
+        return seasonService.getLastRollover();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.SnakeArena;
+import com.example.demo.service.SnakeArenaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// REST for lobby actions; turns and resyncs go over STOMP, frames arrive on /topic/arena/{arenaId}
+@RestController
+@RequestMapping("/api/arena")
+@CrossOrigin(origins = "http://localhost:5173")
+public class SnakeArenaController {
+
+    @Autowired
+    private SnakeArenaService snakeArenaService;
+
+    @GetMapping
+    public List<Map<String, Object>> getArenas() {
+        return snakeArenaService.listArenas();
+    }
+
+    @PostMapping
+    public ResponseEntity<?> createArena() {
+        SnakeArena arena = snakeArenaService.createArena();
+        if (arena == null) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body("Too many arenas open, join one instead");
+        }
+        return ResponseEntity.ok(Map.of("id", arena.getId()));
+    }
+
+    @GetMapping("/stats")
+    public Map<String, Object> getStats() {
+        return snakeArenaService.getStats();
+    }
+
+    @PostMapping("/{arenaId}/join")
+    public ResponseEntity<?> joinArena(@PathVariable String arenaId, @RequestBody Map<String, String> payload) {
+        String username = payload.get("username");
+        if (username == null || username.isEmpty()) {
+            return ResponseEntity.badRequest().body("Username is required");
+        }
+        Optional<SnakeArena> arenaOpt = snakeArenaService.getArena(arenaId);
+        if (arenaOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        int slot = arenaOpt.get().join(username);
+        if (slot < 0) {
+            return ResponseEntity.badRequest().body("Arena is full");
+        }
+        return ResponseEntity.ok(Map.of("slot", slot));
+    }
+
+    @PostMapping("/{arenaId}/leave")
+    public ResponseEntity<?> leaveArena(@PathVariable String arenaId, @RequestBody Map<String, String> payload) {
+        String username = payload.get("username");
+        if (username == null || username.isEmpty()) {
+            return ResponseEntity.badRequest().body("Username is required");
+        }
+        snakeArenaService.getArena(arenaId).ifPresent(arena -> arena.leave(username));
+        return ResponseEntity.ok().build();
+    }
+
+    @MessageMapping("/arena/{arenaId}/turn")
+    public void turn(@DestinationVariable String arenaId, @Payload Map<String, Object> payload,
+            SimpMessageHeaderAccessor headerAccessor) {
+        if (payload.get("username") instanceof String username && payload.get("direction") instanceof Number direction) {
+            snakeArenaService.turn(headerAccessor.getSessionId(), arenaId, username, direction.intValue());
+        }
+    }
+
+    @MessageMapping("/arena/{arenaId}/sync")
+    public void sync(@DestinationVariable String arenaId) {
+        snakeArenaService.getArena(arenaId).ifPresent(snakeArenaService::sync);
+    }
+}
@@ -1,17 +1,62 @@
 package com.example.demo.controller;
 
+import com.example.demo.config.ReplicaRoutingDataSource;
+import com.example.demo.service.GameEventBus;
+import com.example.demo.service.RateLimitService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
 public class StatusController {
 
+    @Autowired
+    private RateLimitService rateLimitService;
+
+    @Autowired
+    private GameEventBus gameEventBus;
+
+    @Autowired
+    private HealthEndpoint healthEndpoint;
+
+    @Autowired
+    private ObjectProvider<ReplicaRoutingDataSource> replicaRouting;
+
+    // Backed by the actuator health checks (database included); detailed metrics are on /actuator/prometheus
     @GetMapping("/status")
-    public Map<String, String> getStatus() {
-        return Map.of("status", "online", "message", "Backend is running smoothly.");
+    public Map<String, Object> getStatus() {
+        Status health = healthEndpoint.health().getStatus();
+        boolean up = Status.UP.equals(health);
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("status", up ? "online" : "degraded");
+        status.put("health", health.getCode());
+        status.put("uptimeSeconds", ManagementFactory.getRuntimeMXBean().getUptime() / 1000);
+        status.put("message", up ? "Backend is running smoothly." : "Backend health checks are failing.");
+        return status;
+    }
+
+    @GetMapping("/status/rate-limits")
+    public Map<String, Map<String, Long>> getRateLimitStats() {
+        return rateLimitService.getStats();
+    }
+
+    @GetMapping("/status/events")
+    public Map<String, Object> getEventBusStats() {
+        return gameEventBus.getStats();
+    }
+
+    @GetMapping("/status/replicas")
+    public Map<String, Object> getReplicaStats() {
+        ReplicaRoutingDataSource routing = replicaRouting.getIfAvailable();
+        return routing != null ? routing.getStats() : Map.of("replicas", Map.of());
     }
 }
@@ -0,0 +1,59 @@
+package com.example.demo.controller;
+
+import com.example.demo.service.TicTacToeSolverService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/tictactoe/ai")
+@CrossOrigin(origins = "http://localhost:5173")
+public class TicTacToeAiController {
+
+    // Chance of deliberately playing a worse move
+    private static final Map<String, Double> MISTAKE_RATES = Map.of(
+            "EASY", 0.5,
+            "MEDIUM", 0.2,
+            "HARD", 0.05,
+            "PERFECT", 0.0);
+
+    @Autowired
+    private TicTacToeSolverService solverService;
+
+    // board: 9 characters, row by row, 'X' / 'O' / anything else for empty
+    @GetMapping("/move")
+    public ResponseEntity<?> getMove(@RequestParam String board,
+            @RequestParam(defaultValue = "HARD") String difficulty,
+            @RequestParam(required = false) Double mistakeRate) {
+        if (board.length() != 9) {
+            return ResponseEntity.badRequest().body("Board must have 9 cells");
+        }
+
+        int x = 0;
+        int o = 0;
+        for (int cell = 0; cell < 9; cell++) {
+            char c = Character.toUpperCase(board.charAt(cell));
+            if (c == 'X') {
+                x |= 1 << cell;
+            } else if (c == 'O') {
+                o |= 1 << cell;
+            }
+        }
+
+        Double rate = mistakeRate != null ? mistakeRate : MISTAKE_RATES.get(difficulty.toUpperCase());
+        if (rate == null) {
+            return ResponseEntity.badRequest().body("Unknown difficulty");
+        }
+
+        int move = solverService.chooseMove(x, o, rate);
+        if (move == TicTacToeSolverService.INVALID) {
+            return ResponseEntity.badRequest().body("Impossible position");
+        }
+
+        int evaluation = solverService.evaluate(x, o);
+        String outcome = evaluation > 0 ? "WIN" : evaluation < 0 ? "LOSS" : "DRAW";
+        return ResponseEntity.ok(Map.of("move", move, "evaluation", evaluation, "outcome", outcome));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.controller;
+
+import com.example.demo.service.TicTacToeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Controller;
+
+import java.util.Map;
+
+@Controller
+public class TicTacToeController {
+
+    @Autowired
+    private TicTacToeService ticTacToeService;
+
+    // State updates are published on /topic/tictactoe/{gameId}
+    @MessageMapping("/tictactoe/{gameId}/move")
+    public void move(@DestinationVariable String gameId, @Payload Map<String, Object> payload) {
+        if (!(payload.get("player") instanceof String player) || !(payload.get("cell") instanceof Number cell)) {
+            return;
+        }
+        ticTacToeService.getSession(gameId)
+                .ifPresent(session -> ticTacToeService.move(session, player, cell.intValue()));
+    }
+
+    @MessageMapping("/tictactoe/{gameId}/sync")
+    public void sync(@DestinationVariable String gameId) {
+        ticTacToeService.getSession(gameId).ifPresent(ticTacToeService::broadcast);
+    }
+}
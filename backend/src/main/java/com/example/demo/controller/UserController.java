@@ -2,7 +2,9 @@ package com.example.demo.controller;
 
 import com.example.demo.model.User;
 import com.example.demo.dto.DashboardStatsDTO;
+import com.example.demo.dto.UserProfileDTO;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.service.GameStatsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,11 +21,14 @@ public class UserController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private GameStatsService gameStatsService;
+
     @GetMapping("/{username}")
     public ResponseEntity<?> getUserProfile(@PathVariable String username) {
         Optional<User> user = userRepository.findByUsername(username);
         if (user.isPresent()) {
-            return ResponseEntity.ok(user.get());
+            return ResponseEntity.ok(UserProfileDTO.from(gameStatsService.getPlayer(user.get())));
         }
         return ResponseEntity.notFound().build();
     }
@@ -35,46 +40,16 @@ public class UserController {
             return ResponseEntity.notFound().build();
         }
 
-        User user = userOpt.get();
-        DashboardStatsDTO stats = new DashboardStatsDTO();
-
-        // Basic Info
-        stats.setUsername(user.getUsername());
-        stats.setRankBadge(user.getRankBadge() != null ? user.getRankBadge() : "Unranked");
-        stats.setUsername(user.getUsername());
-        stats.setRankBadge(user.getRankBadge() != null ? user.getRankBadge() : "Unranked");
-        stats.setPlayTime(user.getPlayTime());
-        stats.setBio(user.getBio());
-
-        // Match Stats
-        int wins = user.getWins();
-        int losses = user.getLosses();
-        int total = wins + losses;
-
-        stats.setWins(wins);
-        stats.setLosses(losses);
-        stats.setTotalMatches(total);
-
-        // Calculations
-        double winRate = total > 0 ? (double) wins / total * 100 : 0.0;
-        stats.setWinRate(Math.round(winRate * 10.0) / 10.0); // Round to 1 decimal
-
-        int kills = user.getKills();
-        int deaths = user.getDeaths();
-        double kd = deaths > 0 ? (double) kills / deaths : kills;
-        stats.setKdRatio(String.format("%.2f", kd));
-
-        stats.setSnakeHighScore(user.getSnakeHighScore());
-        stats.setTotalXp(user.getTotalXp());
-
+        DashboardStatsDTO stats = DashboardStatsDTO.from(gameStatsService.getPlayer(userOpt.get()));
         return ResponseEntity.ok(stats);
     }
 
     @GetMapping("/leaderboard")
-    public List<User> getLeaderboard() {
-        // Top 50 by Total XP (Dynamic Ranking)
-        return userRepository.findAllByOrderByTotalXpDesc().stream()
-                .limit(50)
+    public List<UserProfileDTO> getLeaderboard(@RequestParam(required = false) String game) {
+        // Top 50 by Total XP (Dynamic Ranking), or by one game's high score when a game is given;
+        // both limited in SQL and read off an index, with everyone's game stats fetched in one more query
+        return (game == null ? gameStatsService.getTopByXp() : gameStatsService.getTopByGame(game)).stream()
+                .map(UserProfileDTO::from)
                 .toList();
     }
 
@@ -92,8 +67,7 @@ public class UserController {
             if (newBio.length() > 500) {
                 newBio = newBio.substring(0, 500);
             }
-            user.setBio(newBio);
-            userRepository.save(user);
+            userRepository.updateBio(user.getId(), newBio);
             return ResponseEntity.ok(Map.of("message", "Bio updated successfully", "bio", newBio));
         }
         return ResponseEntity.badRequest().body("Bio cannot be null");
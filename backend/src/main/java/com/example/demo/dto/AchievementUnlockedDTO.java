@@ -0,0 +1,37 @@
+package com.example.demo.dto;
+
+public class AchievementUnlockedDTO {
+    private String id;
+    private String title;
+    private String description;
+    private String game;
+    private long unlockedAt;
+
+    public AchievementUnlockedDTO(String id, String title, String description, String game, long unlockedAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.game = game;
+        this.unlockedAt = unlockedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getGame() {
+        return game;
+    }
+
+    public long getUnlockedAt() {
+        return unlockedAt;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class ArenaUpdateDTO {
+    private String arenaId;
+    private long tick;
+    private int width;
+    private int height;
+    private int[] changes; // delta frames: cell << 4 | value
+    private byte[] grid; // full frames only, one byte per cell
+    private List<Map<String, Object>> players; // only when scores or membership changed
+
+    public ArenaUpdateDTO() {
+    }
+
+    public String getArenaId() {
+        return arenaId;
+    }
+
+    public void setArenaId(String arenaId) {
+        this.arenaId = arenaId;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public void setTick(long tick) {
+        this.tick = tick;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+    }
+
+    public int[] getChanges() {
+        return changes;
+    }
+
+    public void setChanges(int[] changes) {
+        this.changes = changes;
+    }
+
+    public byte[] getGrid() {
+        return grid;
+    }
+
+    public void setGrid(byte[] grid) {
+        this.grid = grid;
+    }
+
+    public List<Map<String, Object>> getPlayers() {
+        return players;
+    }
+
+    public void setPlayers(List<Map<String, Object>> players) {
+        this.players = players;
+    }
+}
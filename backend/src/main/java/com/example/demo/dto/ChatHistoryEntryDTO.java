@@ -0,0 +1,52 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+public class ChatHistoryEntryDTO {
+    private String roomId;
+    private String sender;
+    private String content;
+    private LocalDateTime sentAt;
+
+    public ChatHistoryEntryDTO() {
+    }
+
+    public ChatHistoryEntryDTO(String roomId, String sender, String content, LocalDateTime sentAt) {
+        this.roomId = roomId;
+        this.sender = sender;
+        this.content = content;
+        this.sentAt = sentAt;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(String roomId) {
+        this.roomId = roomId;
+    }
+
+    public String getSender() {
+        return sender;
+    }
+
+    public void setSender(String sender) {
+        this.sender = sender;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+
+    public void setSentAt(LocalDateTime sentAt) {
+        this.sentAt = sentAt;
+    }
+}
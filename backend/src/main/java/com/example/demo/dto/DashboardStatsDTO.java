@@ -1,5 +1,12 @@
 package com.example.demo.dto;
 
+import com.example.demo.model.GameStats;
+import com.example.demo.model.PlayerStats;
+import com.example.demo.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
 public class DashboardStatsDTO {
     private String username;
     private String rankBadge;
@@ -12,11 +19,47 @@ public class DashboardStatsDTO {
     private int snakeHighScore;
     private int totalXp;
     private String bio;
+    private List<GameStats> games = new ArrayList<>(); // one entry per game played
 
     // Constructors
     public DashboardStatsDTO() {
     }
 
+    public static DashboardStatsDTO from(PlayerStats player) {
+        DashboardStatsDTO stats = new DashboardStatsDTO();
+        User user = player.getUser();
+
+        // Basic Info
+        stats.setUsername(user.getUsername());
+        stats.setRankBadge(user.getRankBadge() != null ? user.getRankBadge() : "Unranked");
+        stats.setPlayTime(user.getPlayTime());
+        stats.setBio(user.getBio());
+
+        // Match Stats
+        int wins = player.getWins();
+        int losses = player.getLosses();
+        int total = wins + losses;
+
+        stats.setWins(wins);
+        stats.setLosses(losses);
+        stats.setTotalMatches(total);
+
+        // Calculations
+        double winRate = total > 0 ? (double) wins / total * 100 : 0.0;
+        stats.setWinRate(Math.round(winRate * 10.0) / 10.0); // Round to 1 decimal
+
+        int kills = user.getKills();
+        int deaths = user.getDeaths();
+        double kd = deaths > 0 ? (double) kills / deaths : kills;
+        stats.setKdRatio(String.format("%.2f", kd));
+
+        stats.setSnakeHighScore(player.getBestScore("SNAKE"));
+        stats.setTotalXp(user.getTotalXp());
+        stats.setGames(new ArrayList<>(player.getGames()));
+
+        return stats;
+    }
+
     // Getters and Setters
     public String getUsername() {
         return username;
@@ -107,4 +150,12 @@ public class DashboardStatsDTO {
     public void setBio(String bio) {
         this.bio = bio;
     }
+
+    public List<GameStats> getGames() {
+        return games;
+    }
+
+    public void setGames(List<GameStats> games) {
+        this.games = games;
+    }
 }
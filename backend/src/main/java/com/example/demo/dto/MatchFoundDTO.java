@@ -0,0 +1,60 @@
+package com.example.demo.dto;
+
+public class MatchFoundDTO {
+    private String matchId;
+    private String game;
+    private String opponent;
+    private int opponentXp;
+    private long waitMillis;
+
+    public MatchFoundDTO() {
+    }
+
+    public MatchFoundDTO(String matchId, String game, String opponent, int opponentXp, long waitMillis) {
+        this.matchId = matchId;
+        this.game = game;
+        this.opponent = opponent;
+        this.opponentXp = opponentXp;
+        this.waitMillis = waitMillis;
+    }
+
+    public String getMatchId() {
+        return matchId;
+    }
+
+    public void setMatchId(String matchId) {
+        this.matchId = matchId;
+    }
+
+    public String getGame() {
+        return game;
+    }
+
+    public void setGame(String game) {
+        this.game = game;
+    }
+
+    public String getOpponent() {
+        return opponent;
+    }
+
+    public void setOpponent(String opponent) {
+        this.opponent = opponent;
+    }
+
+    public int getOpponentXp() {
+        return opponentXp;
+    }
+
+    public void setOpponentXp(int opponentXp) {
+        this.opponentXp = opponentXp;
+    }
+
+    public long getWaitMillis() {
+        return waitMillis;
+    }
+
+    public void setWaitMillis(long waitMillis) {
+        this.waitMillis = waitMillis;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.Review;
+
+import java.util.List;
+
+public class ReviewPageDTO {
+    private List<Review> reviews;
+    private String nextCursor; // null on the last page
+
+    public ReviewPageDTO(List<Review> reviews, String nextCursor) {
+        this.reviews = reviews;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Review> getReviews() {
+        return reviews;
+    }
+
+    public void setReviews(List<Review> reviews) {
+        this.reviews = reviews;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
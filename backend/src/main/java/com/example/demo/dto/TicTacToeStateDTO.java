@@ -0,0 +1,70 @@
+package com.example.demo.dto;
+
+public class TicTacToeStateDTO {
+    private String gameId;
+    private String playerX;
+    private String playerO;
+    private String board; // 9 chars, 'X', 'O' or '-'
+    private String nextPlayer;
+    private String status; // IN_PROGRESS, X_WON, O_WON, DRAW
+    private String winner;
+
+    public TicTacToeStateDTO() {
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(String gameId) {
+        this.gameId = gameId;
+    }
+
+    public String getPlayerX() {
+        return playerX;
+    }
+
+    public void setPlayerX(String playerX) {
+        this.playerX = playerX;
+    }
+
+    public String getPlayerO() {
+        return playerO;
+    }
+
+    public void setPlayerO(String playerO) {
+        this.playerO = playerO;
+    }
+
+    public String getBoard() {
+        return board;
+    }
+
+    public void setBoard(String board) {
+        this.board = board;
+    }
+
+    public String getNextPlayer() {
+        return nextPlayer;
+    }
+
+    public void setNextPlayer(String nextPlayer) {
+        this.nextPlayer = nextPlayer;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getWinner() {
+        return winner;
+    }
+
+    public void setWinner(String winner) {
+        this.winner = winner;
+    }
+}
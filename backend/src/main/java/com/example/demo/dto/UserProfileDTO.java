@@ -0,0 +1,151 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.GameStats;
+import com.example.demo.model.PlayerStats;
+import com.example.demo.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Public view of a user: the narrow users row plus totals summed from their game_stats rows
+public class UserProfileDTO {
+    private Long id;
+    private String username;
+    private String email;
+    private String rankBadge;
+    private String bio;
+    private int totalXp;
+    private double playTime;
+    private int kills;
+    private int deaths;
+    private int wins;
+    private int losses;
+    private int snakeHighScore;
+    private List<GameStats> games;
+
+    public UserProfileDTO() {
+    }
+
+    public static UserProfileDTO from(PlayerStats player) {
+        User user = player.getUser();
+        UserProfileDTO profile = new UserProfileDTO();
+        profile.setId(user.getId());
+        profile.setUsername(user.getUsername());
+        profile.setEmail(user.getEmail());
+        profile.setRankBadge(user.getRankBadge());
+        profile.setBio(user.getBio());
+        profile.setTotalXp(user.getTotalXp());
+        profile.setPlayTime(user.getPlayTime());
+        profile.setKills(user.getKills());
+        profile.setDeaths(user.getDeaths());
+        profile.setWins(player.getWins());
+        profile.setLosses(player.getLosses());
+        profile.setSnakeHighScore(player.getBestScore("SNAKE"));
+        profile.setGames(new ArrayList<>(player.getGames()));
+        return profile;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getRankBadge() {
+        return rankBadge;
+    }
+
+    public void setRankBadge(String rankBadge) {
+        this.rankBadge = rankBadge;
+    }
+
+    public String getBio() {
+        return bio;
+    }
+
+    public void setBio(String bio) {
+        this.bio = bio;
+    }
+
+    public int getTotalXp() {
+        return totalXp;
+    }
+
+    public void setTotalXp(int totalXp) {
+        this.totalXp = totalXp;
+    }
+
+    public double getPlayTime() {
+        return playTime;
+    }
+
+    public void setPlayTime(double playTime) {
+        this.playTime = playTime;
+    }
+
+    public int getKills() {
+        return kills;
+    }
+
+    public void setKills(int kills) {
+        this.kills = kills;
+    }
+
+    public int getDeaths() {
+        return deaths;
+    }
+
+    public void setDeaths(int deaths) {
+        this.deaths = deaths;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public void setWins(int wins) {
+        this.wins = wins;
+    }
+
+    public int getLosses() {
+        return losses;
+    }
+
+    public void setLosses(int losses) {
+        this.losses = losses;
+    }
+
+    public int getSnakeHighScore() {
+        return snakeHighScore;
+    }
+
+    public void setSnakeHighScore(int snakeHighScore) {
+        this.snakeHighScore = snakeHighScore;
+    }
+
+    public List<GameStats> getGames() {
+        return games;
+    }
+
+    public void setGames(List<GameStats> games) {
+        this.games = games;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.demo.event;
+
+public class CatalogChangedEvent {
+    private final Long gameId; // null when the whole catalog may have changed
+
+    public CatalogChangedEvent(Long gameId) {
+        this.gameId = gameId;
+    }
+
+    public Long getGameId() {
+        return gameId;
+    }
+}
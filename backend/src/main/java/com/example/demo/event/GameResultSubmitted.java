@@ -0,0 +1,116 @@
+package com.example.demo.event;
+
+import com.example.demo.model.GameStats;
+import com.example.demo.model.Match;
+import com.example.demo.model.User;
+
+// Ring-buffer slot: instances are reused, so subscribers must copy anything they keep after onEvent returns
+public class GameResultSubmitted {
+    private long sequence;
+    private Long matchId;
+    private Long userId;
+    private Long opponentId;
+    private String username;
+    private String game;
+    private int score;
+    private String result;
+    private double durationSeconds;
+    private int previousTotalXp;
+    private int totalXp;
+    private String previousRankBadge;
+    private String rankBadge;
+    // This game's counters after the result
+    private int wins;
+    private int losses;
+    private int bestScore;
+    private long submittedAt;
+
+    public void fill(long sequence, Match match, User user, GameStats stats, double durationSeconds,
+            int previousTotalXp, String previousRankBadge) {
+        this.sequence = sequence;
+        this.matchId = match.getId();
+        this.userId = user.getId();
+        this.opponentId = match.getOpponentId();
+        this.username = user.getUsername();
+        this.game = match.getGameName();
+        this.score = match.getScore();
+        this.result = match.getResult();
+        this.durationSeconds = durationSeconds;
+        this.previousTotalXp = previousTotalXp;
+        this.totalXp = user.getTotalXp();
+        this.previousRankBadge = previousRankBadge;
+        this.rankBadge = user.getRankBadge();
+        this.wins = stats.getWins();
+        this.losses = stats.getLosses();
+        this.bestScore = stats.getBestScore();
+        this.submittedAt = System.currentTimeMillis();
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getOpponentId() {
+        return opponentId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getGame() {
+        return game;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public double getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public int getPreviousTotalXp() {
+        return previousTotalXp;
+    }
+
+    public int getTotalXp() {
+        return totalXp;
+    }
+
+    public String getPreviousRankBadge() {
+        return previousRankBadge;
+    }
+
+    public String getRankBadge() {
+        return rankBadge;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public int getLosses() {
+        return losses;
+    }
+
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    public long getSubmittedAt() {
+        return submittedAt;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.demo.event;
+
+// Implemented by beans that consume GameEventBus; each one gets its own thread and sequence
+public interface GameResultSubscriber {
+
+    String getName();
+
+    // endOfBatch is true for the last event currently available, a good point to flush buffered work
+    void onEvent(GameResultSubmitted event, boolean endOfBatch);
+}
@@ -0,0 +1,31 @@
+package com.example.demo.event;
+
+public class MatchPairedEvent {
+    private final String matchId;
+    private final String game;
+    private final String firstPlayer;
+    private final String secondPlayer;
+
+    public MatchPairedEvent(String matchId, String game, String firstPlayer, String secondPlayer) {
+        this.matchId = matchId;
+        this.game = game;
+        this.firstPlayer = firstPlayer;
+        this.secondPlayer = secondPlayer;
+    }
+
+    public String getMatchId() {
+        return matchId;
+    }
+
+    public String getGame() {
+        return game;
+    }
+
+    public String getFirstPlayer() {
+        return firstPlayer;
+    }
+
+    public String getSecondPlayer() {
+        return secondPlayer;
+    }
+}
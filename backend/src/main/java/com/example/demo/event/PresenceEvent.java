@@ -0,0 +1,32 @@
+package com.example.demo.event;
+
+public class PresenceEvent {
+    private final Type type;
+    private final String username;
+    private final String roomId; // null for ONLINE / OFFLINE
+
+    public enum Type {
+        ONLINE,
+        OFFLINE,
+        JOINED,
+        LEFT
+    }
+
+    public PresenceEvent(Type type, String username, String roomId) {
+        this.type = type;
+        this.username = username;
+        this.roomId = roomId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+}
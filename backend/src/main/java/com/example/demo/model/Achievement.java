@@ -0,0 +1,49 @@
+package com.example.demo.model;
+
+// Static achievement definition; AchievementService compiles these into per-game dispatch tables
+public class Achievement {
+
+    public enum Metric {
+        GAMES_PLAYED, WINS, WIN_STREAK, SCORE, TOTAL_SCORE
+    }
+
+    private final String id;
+    private final String title;
+    private final String description;
+    private final String game;
+    private final Metric metric;
+    private final long threshold;
+
+    public Achievement(String id, String title, String description, String game, Metric metric, long threshold) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.game = game;
+        this.metric = metric;
+        this.threshold = threshold;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getGame() {
+        return game;
+    }
+
+    public Metric getMetric() {
+        return metric;
+    }
+
+    public long getThreshold() {
+        return threshold;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+
+// One row per (user, game): the counters every achievement for that game is evaluated against
+@Entity
+@Table(name = "achievement_progress", uniqueConstraints = @UniqueConstraint(columnNames = { "user_id", "game" }))
+public class AchievementProgress {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String game;
+
+    private long gamesPlayed;
+    private long wins;
+    private long currentStreak;
+    private long bestStreak;
+    private long bestScore;
+    private long totalScore;
+    private long unlockedMask; // bit i = achievement i of this game's table
+
+    public AchievementProgress() {
+    }
+
+    public AchievementProgress(Long userId, String game) {
+        this.userId = userId;
+        this.game = game;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getGame() {
+        return game;
+    }
+
+    public void setGame(String game) {
+        this.game = game;
+    }
+
+    public long getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    public void setGamesPlayed(long gamesPlayed) {
+        this.gamesPlayed = gamesPlayed;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public void setWins(long wins) {
+        this.wins = wins;
+    }
+
+    public long getCurrentStreak() {
+        return currentStreak;
+    }
+
+    public void setCurrentStreak(long currentStreak) {
+        this.currentStreak = currentStreak;
+    }
+
+    public long getBestStreak() {
+        return bestStreak;
+    }
+
+    public void setBestStreak(long bestStreak) {
+        this.bestStreak = bestStreak;
+    }
+
+    public long getBestScore() {
+        return bestScore;
+    }
+
+    public void setBestScore(long bestScore) {
+        this.bestScore = bestScore;
+    }
+
+    public long getTotalScore() {
+        return totalScore;
+    }
+
+    public void setTotalScore(long totalScore) {
+        this.totalScore = totalScore;
+    }
+
+    public long getUnlockedMask() {
+        return unlockedMask;
+    }
+
+    public void setUnlockedMask(long unlockedMask) {
+        this.unlockedMask = unlockedMask;
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.demo.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// In-memory aggregate for one game over one hour, day, week or month (UTC); not thread-safe
+public class AnalyticsBucket {
+    public static final String HOUR = "HOUR";
+    public static final String DAY = "DAY";
+    public static final String WEEK = "WEEK";
+    public static final String MONTH = "MONTH";
+    public static final List<String> PERIODS = List.of(HOUR, DAY, WEEK, MONTH);
+
+    // Lower bound of each score histogram bucket; the last one is open-ended and negatives count as 0
+    public static final int[] SCORE_BOUNDS = { 0, 1, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000 };
+
+    private final String game;
+    private final String period;
+    private final LocalDateTime start;
+    private Long rowId;
+
+    private final HyperLogLog players;
+    private long sessions; // plays for a game, STOMP connects for the platform bucket
+    private long wins;
+    private long losses;
+    private long draws;
+    private long scoreSum;
+    private final long[] scoreHistogram = new long[SCORE_BOUNDS.length];
+    private boolean dirty;
+    private boolean loaded; // any row already stored for this bucket has been merged in
+
+    public AnalyticsBucket(String game, String period, LocalDateTime start) {
+        this(game, period, start, new HyperLogLog());
+    }
+
+    private AnalyticsBucket(String game, String period, LocalDateTime start, HyperLogLog players) {
+        this.game = game;
+        this.period = period;
+        this.start = start;
+        this.players = players;
+    }
+
+    public static LocalDateTime startOf(String period, LocalDateTime time) {
+        switch (period) {
+            case HOUR:
+                return time.truncatedTo(ChronoUnit.HOURS);
+            case DAY:
+                return time.truncatedTo(ChronoUnit.DAYS);
+            case WEEK:
+                return time.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH:
+                return time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+            default:
+                throw new IllegalArgumentException("Unknown period " + period);
+        }
+    }
+
+    public static LocalDateTime endOf(String period, LocalDateTime start) {
+        switch (period) {
+            case HOUR:
+                return start.plusHours(1);
+            case DAY:
+                return start.plusDays(1);
+            case WEEK:
+                return start.plusWeeks(1);
+            case MONTH:
+                return start.plusMonths(1);
+            default:
+                throw new IllegalArgumentException("Unknown period " + period);
+        }
+    }
+
+    public void addPlayer(long hash) {
+        players.addHash(hash);
+        dirty = true;
+    }
+
+    public void addSession() {
+        sessions++;
+        dirty = true;
+    }
+
+    public void addResult(int score, String result) {
+        sessions++;
+        scoreSum += Math.max(0, score);
+        int bucket = SCORE_BOUNDS.length - 1;
+        while (bucket > 0 && score < SCORE_BOUNDS[bucket]) {
+            bucket--;
+        }
+        scoreHistogram[bucket]++;
+        if ("WIN".equalsIgnoreCase(result)) {
+            wins++;
+        } else if ("LOSS".equalsIgnoreCase(result)) {
+            losses++;
+        } else if ("DRAW".equalsIgnoreCase(result)) {
+            draws++;
+        }
+        dirty = true;
+    }
+
+    public void merge(AnalyticsBucket other) {
+        players.merge(other.players);
+        sessions += other.sessions;
+        wins += other.wins;
+        losses += other.losses;
+        draws += other.draws;
+        scoreSum += other.scoreSum;
+        for (int i = 0; i < scoreHistogram.length; i++) {
+            scoreHistogram[i] += other.scoreHistogram[i];
+        }
+    }
+
+    public AnalyticsBucket copy() {
+        AnalyticsBucket copy = new AnalyticsBucket(game, period, start);
+        copy.merge(this);
+        copy.rowId = rowId;
+        copy.loaded = loaded;
+        return copy;
+    }
+
+    public static AnalyticsBucket fromRollup(AnalyticsRollup row) {
+        AnalyticsBucket bucket = new AnalyticsBucket(row.getGame(), row.getPeriod(), row.getBucketStart(),
+                HyperLogLog.fromBytes(row.getPlayers()));
+        bucket.rowId = row.getId();
+        bucket.sessions = row.getSessions();
+        bucket.wins = row.getWins();
+        bucket.losses = row.getLosses();
+        bucket.draws = row.getDraws();
+        bucket.scoreSum = row.getScoreSum();
+        if (row.getScoreHistogram() != null && !row.getScoreHistogram().isEmpty()) {
+            String[] counts = row.getScoreHistogram().split(",");
+            for (int i = 0; i < Math.min(counts.length, bucket.scoreHistogram.length); i++) {
+                bucket.scoreHistogram[i] = Long.parseLong(counts[i]);
+            }
+        }
+        return bucket;
+    }
+
+    public AnalyticsRollup toRollup() {
+        AnalyticsRollup row = new AnalyticsRollup();
+        row.setId(rowId);
+        row.setGame(game);
+        row.setPeriod(period);
+        row.setBucketStart(start);
+        row.setPlayers(players.toBytes());
+        row.setSessions(sessions);
+        row.setWins(wins);
+        row.setLosses(losses);
+        row.setDraws(draws);
+        row.setScoreSum(scoreSum);
+        StringBuilder histogram = new StringBuilder();
+        for (long count : scoreHistogram) {
+            histogram.append(histogram.length() > 0 ? "," : "").append(count);
+        }
+        row.setScoreHistogram(histogram.toString());
+        row.setUpdatedAt(LocalDateTime.now());
+        return row;
+    }
+
+    public Map<String, Object> toSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("start", start);
+        summary.put("uniquePlayers", players.estimate());
+        summary.put("sessions", sessions);
+        summary.put("wins", wins);
+        summary.put("losses", losses);
+        summary.put("draws", draws);
+        long scored = Arrays.stream(scoreHistogram).sum();
+        summary.put("avgScore", scored > 0 ? Math.round((double) scoreSum / scored * 10.0) / 10.0 : 0.0);
+        summary.put("scoreHistogram", scoreHistogram.clone());
+        return summary;
+    }
+
+    public String getGame() {
+        return game;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public HyperLogLog getPlayers() {
+        return players;
+    }
+
+    public long getSessions() {
+        return sessions;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void setLoaded(boolean loaded) {
+        this.loaded = loaded;
+    }
+
+    public void setRowId(Long rowId) {
+        this.rowId = rowId;
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public void setDirty(boolean dirty) {
+        this.dirty = dirty;
+    }
+}
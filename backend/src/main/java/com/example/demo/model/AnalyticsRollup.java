@@ -0,0 +1,130 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Persisted form of one AnalyticsBucket; one row per (game, period, bucket start)
+@Entity
+@Table(name = "analytics_rollups", uniqueConstraints = @UniqueConstraint(columnNames = { "game", "period",
+        "bucket_start" }))
+public class AnalyticsRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String game;
+
+    @Column(nullable = false, length = 8)
+    private String period; // HOUR, DAY, WEEK or MONTH
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart; // UTC
+
+    @Column(length = 8192)
+    private byte[] players; // HyperLogLog.toBytes()
+
+    private long sessions;
+    private long wins;
+    private long losses;
+    private long draws;
+    private long scoreSum;
+    private String scoreHistogram; // comma-separated counts per AnalyticsBucket.SCORE_BOUNDS bucket
+    private LocalDateTime updatedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getGame() {
+        return game;
+    }
+
+    public void setGame(String game) {
+        this.game = game;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public byte[] getPlayers() {
+        return players;
+    }
+
+    public void setPlayers(byte[] players) {
+        this.players = players;
+    }
+
+    public long getSessions() {
+        return sessions;
+    }
+
+    public void setSessions(long sessions) {
+        this.sessions = sessions;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public void setWins(long wins) {
+        this.wins = wins;
+    }
+
+    public long getLosses() {
+        return losses;
+    }
+
+    public void setLosses(long losses) {
+        this.losses = losses;
+    }
+
+    public long getDraws() {
+        return draws;
+    }
+
+    public void setDraws(long draws) {
+        this.draws = draws;
+    }
+
+    public long getScoreSum() {
+        return scoreSum;
+    }
+
+    public void setScoreSum(long scoreSum) {
+        this.scoreSum = scoreSum;
+    }
+
+    public String getScoreHistogram() {
+        return scoreHistogram;
+    }
+
+    public void setScoreHistogram(String scoreHistogram) {
+        this.scoreHistogram = scoreHistogram;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.demo.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Undirected friend graph keyed by user id. Each user's friends are a sorted long[] (8 bytes per edge end, no
+// boxed Longs or set entries) that is replaced rather than changed, so readers never lock and always see a
+// whole list. Writers are serialized; friendships change rarely compared to how often they are read.
+public class FriendGraph {
+    private static final long[] NONE = new long[0];
+
+    private final Map<Long, long[]> adjacency = new ConcurrentHashMap<>();
+    private volatile long edges;
+
+    public long[] friendsOf(long userId) {
+        return adjacency.getOrDefault(userId, NONE);
+    }
+
+    public boolean areFriends(long a, long b) {
+        return Arrays.binarySearch(friendsOf(a), b) >= 0;
+    }
+
+    public synchronized void add(long a, long b) {
+        long[] first = friendsOf(a);
+        int at = Arrays.binarySearch(first, b);
+        if (at >= 0) {
+            return;
+        }
+        adjacency.put(a, insert(first, -at - 1, b));
+        long[] second = friendsOf(b);
+        adjacency.put(b, insert(second, -Arrays.binarySearch(second, a) - 1, a));
+        edges++;
+    }
+
+    public synchronized void remove(long a, long b) {
+        long[] first = friendsOf(a);
+        int at = Arrays.binarySearch(first, b);
+        if (at < 0) {
+            return;
+        }
+        update(a, delete(first, at));
+        long[] second = friendsOf(b);
+        update(b, delete(second, Arrays.binarySearch(second, a)));
+        edges--;
+    }
+
+    // Bulk load from pairs[2i], pairs[2i + 1]: each list is sized from the degree counts and sorted once,
+    // instead of being copied on every insert. Only for a graph nobody reads yet.
+    public synchronized void load(long[] pairs, int pairCount) {
+        Map<Long, int[]> degrees = new HashMap<>();
+        for (int i = 0; i < pairCount * 2; i++) {
+            degrees.computeIfAbsent(pairs[i], id -> new int[1])[0]++;
+        }
+        Map<Long, long[]> lists = new HashMap<>(degrees.size() * 2);
+        for (Map.Entry<Long, int[]> entry : degrees.entrySet()) {
+            lists.put(entry.getKey(), new long[entry.getValue()[0]]);
+            entry.getValue()[0] = 0;
+        }
+        for (int i = 0; i < pairCount; i++) {
+            long a = pairs[2 * i];
+            long b = pairs[2 * i + 1];
+            lists.get(a)[degrees.get(a)[0]++] = b;
+            lists.get(b)[degrees.get(b)[0]++] = a;
+        }
+        for (long[] list : lists.values()) {
+            Arrays.sort(list);
+        }
+        adjacency.clear();
+        adjacency.putAll(lists);
+        edges = pairCount;
+    }
+
+    public int getUserCount() {
+        return adjacency.size();
+    }
+
+    public long getEdgeCount() {
+        return edges;
+    }
+
+    private void update(long userId, long[] friends) {
+        if (friends.length == 0) {
+            adjacency.remove(userId);
+        } else {
+            adjacency.put(userId, friends);
+        }
+    }
+
+    private static long[] insert(long[] list, int at, long value) {
+        long[] copy = new long[list.length + 1];
+        System.arraycopy(list, 0, copy, 0, at);
+        copy[at] = value;
+        System.arraycopy(list, at, copy, at + 1, list.length - at);
+        return copy;
+    }
+
+    private static long[] delete(long[] list, int at) {
+        long[] copy = new long[list.length - 1];
+        System.arraycopy(list, 0, copy, 0, at);
+        System.arraycopy(list, at + 1, copy, at, list.length - at - 1);
+        return copy;
+    }
+}
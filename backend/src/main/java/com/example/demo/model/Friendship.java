@@ -0,0 +1,96 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// A friend request or an accepted friendship between two players. userId is always the smaller of the two
+// ids, so the unique key also rules out a second row for the same pair in the other direction.
+@Entity
+@Table(name = "friendships", uniqueConstraints = @UniqueConstraint(columnNames = { "user_id", "friend_id" }),
+        indexes = @Index(name = "idx_friendships_friend", columnList = "friend_id"))
+public class Friendship {
+    public static final String PENDING = "PENDING";
+    public static final String ACCEPTED = "ACCEPTED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "friend_id", nullable = false)
+    private Long friendId;
+
+    @Column(nullable = false)
+    private Long requestedBy;
+
+    @Column(nullable = false, length = 16)
+    private String status; // PENDING until the other player accepts, then ACCEPTED
+
+    private LocalDateTime createdAt;
+
+    public Friendship() {
+    }
+
+    public Friendship(Long requestedBy, Long other) {
+        this.userId = Math.min(requestedBy, other);
+        this.friendId = Math.max(requestedBy, other);
+        this.requestedBy = requestedBy;
+        this.status = PENDING;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // The player on the other side of the pair from userId
+    public Long otherThan(Long id) {
+        return userId.equals(id) ? friendId : userId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getFriendId() {
+        return friendId;
+    }
+
+    public void setFriendId(Long friendId) {
+        this.friendId = friendId;
+    }
+
+    public Long getRequestedBy() {
+        return requestedBy;
+    }
+
+    public void setRequestedBy(Long requestedBy) {
+        this.requestedBy = requestedBy;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -13,7 +13,16 @@ public class Game {
     private String description;
     private String imageUrl;
     private String genre;
-    private double rating;
+    private double rating; // seeded value, used until the game has reviews
+
+    // Running review aggregates, only changed through ReviewService
+    private long reviewCount;
+    private long ratingSum;
+    private long ratingCount1;
+    private long ratingCount2;
+    private long ratingCount3;
+    private long ratingCount4;
+    private long ratingCount5;
 
     public Long getId() {
         return id;
@@ -56,10 +65,23 @@ public class Game {
     }
 
     public double getRating() {
-        return rating;
+        return reviewCount > 0 ? (double) ratingSum / reviewCount : rating;
     }
 
     public void setRating(double rating) {
         this.rating = rating;
     }
+
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    // Index 0 is 1 star, index 4 is 5 stars
+    public long[] getRatingHistogram() {
+        return new long[] { ratingCount1, ratingCount2, ratingCount3, ratingCount4, ratingCount5 };
+    }
 }
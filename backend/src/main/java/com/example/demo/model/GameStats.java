@@ -0,0 +1,133 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+
+// One row per (user, game) holding that game's counters, so a new game needs no schema change
+@Entity
+@Table(name = "game_stats", uniqueConstraints = @UniqueConstraint(columnNames = { "user_id", "game" }), indexes = {
+        @Index(name = "idx_game_stats_game_best", columnList = "game, best_score, wins")
+})
+public class GameStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String game;
+
+    private int gamesPlayed;
+    private int wins;
+    // Wins the server's own game engine decided, as opposed to results a client reported; only these earn XP
+    private int trustedWins;
+    private int losses;
+    private int draws;
+    private int bestScore;
+    private long totalScore;
+
+    public GameStats() {
+    }
+
+    public GameStats(Long userId, String game) {
+        this.userId = userId;
+        this.game = game;
+    }
+
+    public void record(int score, String result, boolean trusted) {
+        gamesPlayed++;
+        totalScore += Math.max(0, score);
+        bestScore = Math.max(bestScore, score);
+        if ("WIN".equalsIgnoreCase(result)) {
+            wins++;
+            if (trusted) {
+                trustedWins++;
+            }
+        } else if ("LOSS".equalsIgnoreCase(result)) {
+            losses++;
+        } else if ("DRAW".equalsIgnoreCase(result)) {
+            draws++;
+        }
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getGame() {
+        return game;
+    }
+
+    public void setGame(String game) {
+        this.game = game;
+    }
+
+    public int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    public void setGamesPlayed(int gamesPlayed) {
+        this.gamesPlayed = gamesPlayed;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public void setWins(int wins) {
+        this.wins = wins;
+    }
+
+    public int getTrustedWins() {
+        return trustedWins;
+    }
+
+    public void setTrustedWins(int trustedWins) {
+        this.trustedWins = trustedWins;
+    }
+
+    public int getLosses() {
+        return losses;
+    }
+
+    public void setLosses(int losses) {
+        this.losses = losses;
+    }
+
+    public int getDraws() {
+        return draws;
+    }
+
+    public void setDraws(int draws) {
+        this.draws = draws;
+    }
+
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    public void setBestScore(int bestScore) {
+        this.bestScore = bestScore;
+    }
+
+    public long getTotalScore() {
+        return totalScore;
+    }
+
+    public void setTotalScore(long totalScore) {
+        this.totalScore = totalScore;
+    }
+}
@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "matches")
+@Table(name = "matches", indexes = {
+        @Index(name = "idx_matches_user_played", columnList = "user_id, played_at"),
+        @Index(name = "idx_matches_game_replay", columnList = "game_name, id, user_id, opponent_id, result")
+})
 public class Match {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -17,6 +20,9 @@ public class Match {
     private String gameName; // SNAKE, TICTACTOE
     private int score;
     private String result; // WIN, LOSS, DRAW, COMPLETED
+
+    @Column(name = "opponent_id")
+    private Long opponentId; // other player's user id for head-to-head games, null when solo
     private LocalDateTime playedAt;
 
     public Match() {
@@ -79,4 +85,12 @@ public class Match {
     public void setPlayedAt(LocalDateTime playedAt) {
         this.playedAt = playedAt;
     }
+
+    public Long getOpponentId() {
+        return opponentId;
+    }
+
+    public void setOpponentId(Long opponentId) {
+        this.opponentId = opponentId;
+    }
 }
@@ -0,0 +1,103 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Glicko-2 skill rating of one player in one game, on the familiar 1500-centred scale
+@Entity
+@Table(name = "player_ratings",
+        uniqueConstraints = @UniqueConstraint(columnNames = { "user_id", "game" }),
+        indexes = @Index(name = "idx_player_ratings_game_rating", columnList = "game, rating"))
+public class PlayerRating {
+    public static final double DEFAULT_RATING = 1500;
+    public static final double DEFAULT_DEVIATION = 350;
+    public static final double DEFAULT_VOLATILITY = 0.06;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String game;
+
+    private double rating = DEFAULT_RATING;
+    private double deviation = DEFAULT_DEVIATION;
+    private double volatility = DEFAULT_VOLATILITY;
+    private long gamesRated;
+    private LocalDateTime updatedAt;
+
+    public PlayerRating() {
+    }
+
+    public PlayerRating(Long userId, String game) {
+        this.userId = userId;
+        this.game = game;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getGame() {
+        return game;
+    }
+
+    public void setGame(String game) {
+        this.game = game;
+    }
+
+    public double getRating() {
+        return rating;
+    }
+
+    public void setRating(double rating) {
+        this.rating = rating;
+    }
+
+    public double getDeviation() {
+        return deviation;
+    }
+
+    public void setDeviation(double deviation) {
+        this.deviation = deviation;
+    }
+
+    public double getVolatility() {
+        return volatility;
+    }
+
+    public void setVolatility(double volatility) {
+        this.volatility = volatility;
+    }
+
+    public long getGamesRated() {
+        return gamesRated;
+    }
+
+    public void setGamesRated(long gamesRated) {
+        this.gamesRated = gamesRated;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.model;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// A user together with all of their per-game rows, loaded in one query and summed in memory
+public class PlayerStats {
+    private final User user;
+    private final Map<String, GameStats> games = new LinkedHashMap<>();
+
+    public PlayerStats(User user, List<GameStats> rows) {
+        this.user = user;
+        for (GameStats row : rows) {
+            games.put(row.getGame(), row);
+        }
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public Collection<GameStats> getGames() {
+        return games.values();
+    }
+
+    // Row for the game, created (unsaved) on the player's first result in it
+    public GameStats forGame(String game) {
+        return games.computeIfAbsent(game, key -> new GameStats(user.getId(), key));
+    }
+
+    public int getWins() {
+        int wins = 0;
+        for (GameStats stats : games.values()) {
+            wins += stats.getWins();
+        }
+        return wins;
+    }
+
+    public int getLosses() {
+        int losses = 0;
+        for (GameStats stats : games.values()) {
+            losses += stats.getLosses();
+        }
+        return losses;
+    }
+
+    public int getBestScore(String game) {
+        GameStats stats = games.get(game);
+        return stats != null ? stats.getBestScore() : 0;
+    }
+
+    public int getWins(String game) {
+        GameStats stats = games.get(game);
+        return stats != null ? stats.getWins() : 0;
+    }
+
+    public int getTrustedWins(String game) {
+        GameStats stats = games.get(game);
+        return stats != null ? stats.getTrustedWins() : 0;
+    }
+}
@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+// Both indexes end in created_at and (implicitly) the primary key, so every keyset page is a range scan
+@Table(name = "reviews", indexes = {
+        @Index(name = "idx_reviews_game_created", columnList = "game_id, created_at"),
+        @Index(name = "idx_reviews_game_rating", columnList = "game_id, rating, created_at")
+})
 public class Review {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,107 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "seasons")
+public class Season {
+    public static final String ACTIVE = "ACTIVE";
+    public static final String ROLLING_OVER = "ROLLING_OVER";
+    public static final String ARCHIVED = "ARCHIVED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "season_number", unique = true, nullable = false)
+    private int number;
+
+    @Column(nullable = false, length = 16)
+    private String status; // ACTIVE, ROLLING_OVER or ARCHIVED
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime endedAt;
+
+    private int keepPercent; // share of each player's XP carried into the next season, 0 for a full reset
+
+    // Highest user id already archived and reset; a rollover interrupted by a restart resumes after it
+    private long rolloverCursor;
+
+    private long archivedPlayers;
+
+    public Season() {
+    }
+
+    public Season(int number) {
+        this.number = number;
+        this.status = ACTIVE;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public void setNumber(int number) {
+        this.number = number;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getEndedAt() {
+        return endedAt;
+    }
+
+    public void setEndedAt(LocalDateTime endedAt) {
+        this.endedAt = endedAt;
+    }
+
+    public int getKeepPercent() {
+        return keepPercent;
+    }
+
+    public void setKeepPercent(int keepPercent) {
+        this.keepPercent = keepPercent;
+    }
+
+    public long getRolloverCursor() {
+        return rolloverCursor;
+    }
+
+    public void setRolloverCursor(long rolloverCursor) {
+        this.rolloverCursor = rolloverCursor;
+    }
+
+    public long getArchivedPlayers() {
+        return archivedPlayers;
+    }
+
+    public void setArchivedPlayers(long archivedPlayers) {
+        this.archivedPlayers = archivedPlayers;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+// One player's frozen result in an archived season; rows are only ever inserted, in bulk, by the rollover
+@Entity
+@Table(name = "season_standings", indexes = @Index(name = "idx_season_standings_xp", columnList = "season_id, total_xp"))
+@IdClass(SeasonStanding.Key.class)
+public class SeasonStanding {
+    @Id
+    @Column(name = "season_id")
+    private Long seasonId;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "total_xp", nullable = false)
+    private int totalXp;
+
+    private String rankBadge;
+
+    public Long getSeasonId() {
+        return seasonId;
+    }
+
+    public void setSeasonId(Long seasonId) {
+        this.seasonId = seasonId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public int getTotalXp() {
+        return totalXp;
+    }
+
+    public void setTotalXp(int totalXp) {
+        this.totalXp = totalXp;
+    }
+
+    public String getRankBadge() {
+        return rankBadge;
+    }
+
+    public void setRankBadge(String rankBadge) {
+        this.rankBadge = rankBadge;
+    }
+
+    public static class Key implements Serializable {
+        private Long seasonId;
+        private Long userId;
+
+        public Key() {
+        }
+
+        public Key(Long seasonId, Long userId) {
+            this.seasonId = seasonId;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && Objects.equals(seasonId, key.seasonId) && Objects.equals(userId, key.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(seasonId, userId);
+        }
+    }
+}
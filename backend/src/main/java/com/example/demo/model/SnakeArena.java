@@ -0,0 +1,292 @@
+package com.example.demo.model;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Shared multiplayer grid; tick() is driven by SnakeArenaService, all other calls may come from any thread
+public class SnakeArena {
+    public static final int WIDTH = 40;
+    public static final int HEIGHT = 30;
+    public static final int MAX_PLAYERS = 8;
+    public static final int FOOD_COUNT = 4;
+
+    // Cell values: EMPTY, FOOD, or SNAKE_BASE + player slot
+    public static final byte EMPTY = 0;
+    public static final byte FOOD = 1;
+    public static final byte SNAKE_BASE = 2;
+
+    private static final int CELLS = WIDTH * HEIGHT;
+    private static final int NO_TURN = -1;
+    private static final int[] DX = { 0, 0, -1, 1 }; // UP, DOWN, LEFT, RIGHT as in SnakeSimulation
+    private static final int[] DY = { -1, 1, 0, 0 };
+
+    private final String id;
+    private final Random random = new Random();
+    private final byte[] grid = new byte[CELLS];
+
+    private final String[] usernames = new String[MAX_PLAYERS];
+    private final int[][] bodies = new int[MAX_PLAYERS][]; // ring buffers, allocated on first join
+    private final int[] heads = new int[MAX_PLAYERS];
+    private final int[] lengths = new int[MAX_PLAYERS];
+    private final int[] directions = new int[MAX_PLAYERS];
+    private final int[] scores = new int[MAX_PLAYERS];
+    private final boolean[] alive = new boolean[MAX_PLAYERS];
+    private final AtomicIntegerArray pendingTurns = new AtomicIntegerArray(MAX_PLAYERS);
+
+    // Scratch space reused every tick
+    private final int[] nextHeads = new int[MAX_PLAYERS];
+    private final boolean[] dying = new boolean[MAX_PLAYERS];
+    private final boolean[] eating = new boolean[MAX_PLAYERS];
+    private final int[] changes = new int[CELLS * 2];
+    private int changeCount;
+    private boolean changesOverflowed;
+
+    private long tick;
+    private boolean playersChanged = true;
+    private volatile long lastActivity = System.currentTimeMillis();
+
+    public SnakeArena(String id) {
+        this.id = id;
+        for (int i = 0; i < FOOD_COUNT; i++) {
+            placeFood();
+        }
+    }
+
+    // Returns the player's slot, or -1 if the arena is full
+    public synchronized int join(String username) {
+        int slot = slotOf(username);
+        if (slot < 0) {
+            for (int i = 0; i < MAX_PLAYERS && slot < 0; i++) {
+                if (usernames[i] == null) {
+                    slot = i;
+                }
+            }
+            if (slot < 0) {
+                return -1;
+            }
+            usernames[slot] = username;
+            scores[slot] = 0;
+            if (bodies[slot] == null) {
+                bodies[slot] = new int[CELLS];
+            }
+        }
+        if (!alive[slot]) {
+            spawn(slot);
+        }
+        lastActivity = System.currentTimeMillis();
+        playersChanged = true;
+        return slot;
+    }
+
+    public synchronized void leave(String username) {
+        int slot = slotOf(username);
+        if (slot >= 0) {
+            if (alive[slot]) {
+                clearBody(slot);
+            }
+            usernames[slot] = null;
+            alive[slot] = false;
+            playersChanged = true;
+        }
+    }
+
+    // Not synchronized: only records the intent, which the next tick picks up
+    public void turn(String username, int direction) {
+        int slot = slotOf(username);
+        if (slot >= 0 && direction >= 0 && direction < 4) {
+            pendingTurns.set(slot, direction);
+            lastActivity = System.currentTimeMillis();
+        }
+    }
+
+    // Advances the arena one step and returns every cell changed since the previous tick,
+    // packed as cell << 4 | value, or null if too much changed and clients need a full snapshot
+    public synchronized int[] tick() {
+        tick++;
+
+        for (int p = 0; p < MAX_PLAYERS; p++) {
+            if (!alive[p]) {
+                continue;
+            }
+            int turn = pendingTurns.getAndSet(p, NO_TURN);
+            // Ignore reversals into the snake's own neck
+            boolean reversal = turn != NO_TURN
+                    && DX[turn] == -DX[directions[p]] && DY[turn] == -DY[directions[p]];
+            if (turn != NO_TURN && !reversal) {
+                directions[p] = turn;
+            }
+            int head = bodies[p][heads[p]];
+            int x = head % WIDTH + DX[directions[p]];
+            int y = head / WIDTH + DY[directions[p]];
+            boolean inside = x >= 0 && x < WIDTH && y >= 0 && y < HEIGHT;
+            nextHeads[p] = inside ? y * WIDTH + x : -1;
+            dying[p] = !inside || grid[nextHeads[p]] >= SNAKE_BASE;
+            eating[p] = inside && grid[nextHeads[p]] == FOOD;
+        }
+
+        // Head-on collisions kill both snakes
+        for (int p = 0; p < MAX_PLAYERS; p++) {
+            for (int q = p + 1; q < MAX_PLAYERS; q++) {
+                if (alive[p] && alive[q] && nextHeads[p] >= 0 && nextHeads[p] == nextHeads[q]) {
+                    dying[p] = true;
+                    dying[q] = true;
+                }
+            }
+        }
+
+        int eaten = 0;
+        for (int p = 0; p < MAX_PLAYERS; p++) {
+            if (!alive[p]) {
+                continue;
+            }
+            if (dying[p]) {
+                clearBody(p);
+                alive[p] = false;
+                playersChanged = true;
+                continue;
+            }
+            int[] body = bodies[p];
+            if (eating[p]) {
+                scores[p] += SnakeSimulation.POINTS_PER_FOOD;
+                eaten++;
+                playersChanged = true;
+            } else {
+                int tail = (heads[p] - lengths[p] + 1 + CELLS) % CELLS;
+                set(body[tail], EMPTY);
+                lengths[p]--;
+            }
+            heads[p] = (heads[p] + 1) % CELLS;
+            body[heads[p]] = nextHeads[p];
+            lengths[p]++;
+            set(nextHeads[p], (byte) (SNAKE_BASE + p));
+        }
+
+        for (int i = 0; i < eaten; i++) {
+            placeFood();
+        }
+
+        int[] delta = changesOverflowed ? null : Arrays.copyOf(changes, changeCount);
+        changeCount = 0;
+        changesOverflowed = false;
+        return delta;
+    }
+
+    public synchronized byte[] snapshotGrid() {
+        return Arrays.copyOf(grid, CELLS);
+    }
+
+    public synchronized boolean consumePlayersChanged() {
+        boolean changed = playersChanged;
+        playersChanged = false;
+        return changed;
+    }
+
+    public synchronized int aliveCount() {
+        int count = 0;
+        for (boolean snake : alive) {
+            if (snake) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public synchronized int playerCount() {
+        int count = 0;
+        for (String username : usernames) {
+            if (username != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public synchronized long getTick() {
+        return tick;
+    }
+
+    public long getLastActivity() {
+        return lastActivity;
+    }
+
+    public synchronized String getUsername(int slot) {
+        return usernames[slot];
+    }
+
+    public synchronized int getScore(int slot) {
+        return scores[slot];
+    }
+
+    public synchronized int getLength(int slot) {
+        return alive[slot] ? lengths[slot] : 0;
+    }
+
+    public synchronized boolean isAlive(int slot) {
+        return alive[slot];
+    }
+
+    private int slotOf(String username) {
+        for (int i = 0; i < MAX_PLAYERS; i++) {
+            if (username.equals(usernames[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void spawn(int slot) {
+        // Start away from the right wall, heading right, like the single-player game
+        int cell = randomEmptyCell(WIDTH - 8);
+        if (cell < 0) {
+            return;
+        }
+        heads[slot] = 0;
+        lengths[slot] = 1;
+        bodies[slot][0] = cell;
+        directions[slot] = 3;
+        pendingTurns.set(slot, NO_TURN);
+        alive[slot] = true;
+        set(cell, (byte) (SNAKE_BASE + slot));
+    }
+
+    private void clearBody(int slot) {
+        int[] body = bodies[slot];
+        for (int i = 0; i < lengths[slot]; i++) {
+            set(body[(heads[slot] - i + CELLS) % CELLS], EMPTY);
+        }
+        lengths[slot] = 0;
+    }
+
+    private void placeFood() {
+        int cell = randomEmptyCell(WIDTH);
+        if (cell >= 0) {
+            set(cell, FOOD);
+        }
+    }
+
+    private int randomEmptyCell(int maxX) {
+        for (int attempt = 0; attempt < 64; attempt++) {
+            int cell = random.nextInt(HEIGHT) * WIDTH + random.nextInt(maxX);
+            if (grid[cell] == EMPTY) {
+                return cell;
+            }
+        }
+        return -1;
+    }
+
+    private void set(int cell, byte value) {
+        if (grid[cell] != value) {
+            grid[cell] = value;
+            if (changeCount < changes.length) {
+                changes[changeCount++] = cell << 4 | value;
+            } else {
+                changesOverflowed = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.demo.model;
+
+import java.util.Arrays;
+
+// Deterministic mirror of the SnakeGame.jsx rules; reusable across games without allocating
+public class SnakeSimulation {
+    public static final int WIDTH = 30;
+    public static final int HEIGHT = 20;
+    public static final int TICK_MS = 100;
+    public static final int POINTS_PER_FOOD = 10;
+
+    public static final int UP = 0;
+    public static final int DOWN = 1;
+    public static final int LEFT = 2;
+    public static final int RIGHT = 3;
+
+    private static final int CELLS = WIDTH * HEIGHT;
+
+    private final boolean[] occupied = new boolean[CELLS];
+    private final int[] body = new int[CELLS]; // ring buffer of cell indices, head at 'head'
+    private int head;
+    private int length;
+    private int dx;
+    private int dy;
+    private int food;
+    private int score;
+    private int rng;
+
+    public void reset(int seed) {
+        Arrays.fill(occupied, false);
+        head = 0;
+        length = 1;
+        body[0] = 10 * WIDTH + 10;
+        occupied[body[0]] = true;
+        dx = 1;
+        dy = 0;
+        food = 15 * WIDTH + 15;
+        score = 0;
+        rng = seed;
+    }
+
+    // Same rule as the client key handler: only turns perpendicular to the current direction count
+    public void turn(int direction) {
+        switch (direction) {
+            case UP -> {
+                if (dy == 0) {
+                    dx = 0;
+                    dy = -1;
+                }
+            }
+            case DOWN -> {
+                if (dy == 0) {
+                    dx = 0;
+                    dy = 1;
+                }
+            }
+            case LEFT -> {
+                if (dx == 0) {
+                    dx = -1;
+                    dy = 0;
+                }
+            }
+            case RIGHT -> {
+                if (dx == 0) {
+                    dx = 1;
+                    dy = 0;
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    // Advances one tick; returns false when the snake hits a wall or itself
+    public boolean step() {
+        int x = body[head] % WIDTH + dx;
+        int y = body[head] / WIDTH + dy;
+        if (x < 0 || x >= WIDTH || y < 0 || y >= HEIGHT) {
+            return false;
+        }
+        int cell = y * WIDTH + x;
+        // The client checks against the whole snake before the tail moves, so the tail cell is fatal too
+        if (occupied[cell]) {
+            return false;
+        }
+
+        head = (head + 1) % CELLS;
+        body[head] = cell;
+        occupied[cell] = true;
+        length++;
+
+        if (cell == food) {
+            score += POINTS_PER_FOOD;
+            int foodX = (int) ((nextRandom() * WIDTH) >>> 32);
+            int foodY = (int) ((nextRandom() * HEIGHT) >>> 32);
+            food = foodY * WIDTH + foodX;
+        } else {
+            int tail = (head - length + 1 + CELLS) % CELLS;
+            occupied[body[tail]] = false;
+            length--;
+        }
+        return true;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    // mulberry32, as in SnakeGame.jsx; returns the unsigned 32-bit output
+    private long nextRandom() {
+        rng += 0x6D2B79F5;
+        int t = (rng ^ (rng >>> 15)) * (1 | rng);
+        t = (t + ((t ^ (t >>> 7)) * (61 | t))) ^ t;
+        return (t ^ (t >>> 14)) & 0xFFFFFFFFL;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.demo.model;
+
+public class TicTacToeSession {
+    public static final int IN_PROGRESS = 0;
+    public static final int X_WON = 1;
+    public static final int O_WON = 2;
+    public static final int DRAW = 3;
+    public static final int REJECTED = -1;
+
+    private static final int FULL_BOARD = 0x1FF;
+
+    // WINNING[mask] is true when the 9-bit mask contains a complete line
+    private static final boolean[] WINNING = new boolean[512];
+
+    static {
+        int[] lines = { 0x007, 0x038, 0x1C0, 0x049, 0x092, 0x124, 0x111, 0x054 };
+        for (int mask = 0; mask < 512; mask++) {
+            for (int line : lines) {
+                if ((mask & line) == line) {
+                    WINNING[mask] = true;
+                    break;
+                }
+            }
+        }
+    }
+
+    private final String id;
+    private final String playerX;
+    private final String playerO;
+    private final long startedAt = System.currentTimeMillis();
+    private volatile long lastActivity = startedAt;
+
+    // Both boards packed into one int: X in bits 0-8, O in bits 9-17
+    private int board;
+    private int status = IN_PROGRESS;
+
+    public TicTacToeSession(String id, String playerX, String playerO) {
+        this.id = id;
+        this.playerX = playerX;
+        this.playerO = playerO;
+    }
+
+    // Returns the status right after this move, or REJECTED if the move is not legal for this player right now.
+    // Decided under the same lock as the move, so exactly one caller ever sees the game end.
+    public synchronized int applyMove(String player, int cell) {
+        if (status != IN_PROGRESS || cell < 0 || cell > 8) {
+            return REJECTED;
+        }
+        int x = board & FULL_BOARD;
+        int o = board >>> 9;
+        boolean xToMove = Integer.bitCount(x) == Integer.bitCount(o);
+        if (!player.equals(xToMove ? playerX : playerO) || ((x | o) & (1 << cell)) != 0) {
+            return REJECTED;
+        }
+
+        if (xToMove) {
+            x |= 1 << cell;
+        } else {
+            o |= 1 << cell;
+        }
+        board = x | (o << 9);
+        lastActivity = System.currentTimeMillis();
+
+        if (isWinningMask(x)) {
+            status = X_WON;
+        } else if (isWinningMask(o)) {
+            status = O_WON;
+        } else if ((x | o) == FULL_BOARD) {
+            status = DRAW;
+        }
+        return status;
+    }
+
+    public static boolean isWinningMask(int mask) {
+        return WINNING[mask];
+    }
+
+    public synchronized int getBoard() {
+        return board;
+    }
+
+    public synchronized int getStatus() {
+        return status;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getPlayerX() {
+        return playerX;
+    }
+
+    public String getPlayerO() {
+        return playerO;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public long getLastActivity() {
+        return lastActivity;
+    }
+}
@@ -3,7 +3,7 @@ package com.example.demo.model;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_total_xp", columnList = "total_xp"))
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -19,14 +19,12 @@ public class User {
     private String password;
 
     private String rankBadge = "Bronze I";
-    private int wins = 0;
-    private int losses = 0;
     private int kills = 0;
     private int deaths = 0;
     private String bio = "New Recruit";
     private double playTime = 0.0; // In hours
-    private int snakeHighScore = 0;
-    private int totalXp = 0;
+    private int totalXp = 0; // Current season only
+    private int xpBase = 0; // Lifetime XP already archived or decayed by earlier season rollovers
 
     // Getters and Setters
     public Long getId() {
@@ -69,22 +67,6 @@ public class User {
         this.rankBadge = rankBadge;
     }
 
-    public int getWins() {
-        return wins;
-    }
-
-    public void setWins(int wins) {
-        this.wins = wins;
-    }
-
-    public int getLosses() {
-        return losses;
-    }
-
-    public void setLosses(int losses) {
-        this.losses = losses;
-    }
-
     public int getKills() {
         return kills;
     }
@@ -117,14 +99,6 @@ public class User {
         this.playTime = playTime;
     }
 
-    public int getSnakeHighScore() {
-        return snakeHighScore;
-    }
-
-    public void setSnakeHighScore(int snakeHighScore) {
-        this.snakeHighScore = snakeHighScore;
-    }
-
     public int getTotalXp() {
         return totalXp;
     }
@@ -132,4 +106,12 @@ public class User {
     public void setTotalXp(int totalXp) {
         this.totalXp = totalXp;
     }
+
+    public int getXpBase() {
+        return xpBase;
+    }
+
+    public void setXpBase(int xpBase) {
+        this.xpBase = xpBase;
+    }
 }
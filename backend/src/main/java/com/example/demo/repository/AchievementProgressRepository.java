@@ -0,0 +1,16 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.AchievementProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AchievementProgressRepository extends JpaRepository<AchievementProgress, Long>,
+        AchievementProgressRepositoryCustom {
+    Optional<AchievementProgress> findByUserIdAndGame(Long userId, String game);
+
+    List<AchievementProgress> findByUserId(Long userId);
+}
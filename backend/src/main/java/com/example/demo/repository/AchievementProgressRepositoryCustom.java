@@ -0,0 +1,11 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.AchievementProgress;
+
+import java.util.List;
+
+public interface AchievementProgressRepositoryCustom {
+    // Writes the rows with batched JDBC statements instead of a SELECT and an UPDATE per entity; rows without
+    // an id are inserted and get theirs set
+    void saveBatch(List<AchievementProgress> rows);
+}
@@ -0,0 +1,74 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.AchievementProgress;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class AchievementProgressRepositoryImpl implements AchievementProgressRepositoryCustom {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Override
+    @Transactional
+    public void saveBatch(List<AchievementProgress> rows) {
+        List<AchievementProgress> updates = new ArrayList<>();
+        Map<String, Map<Long, AchievementProgress>> inserts = new HashMap<>();
+        for (AchievementProgress progress : rows) {
+            if (progress.getId() != null) {
+                updates.add(progress);
+            } else {
+                inserts.computeIfAbsent(progress.getGame(), game -> new HashMap<>())
+                        .put(progress.getUserId(), progress);
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE achievement_progress SET games_played = ?, wins = ?, current_streak = ?, "
+                    + "best_streak = ?, best_score = ?, total_score = ?, unlocked_mask = ? WHERE id = ?",
+                    updates, updates.size(), (ps, progress) -> {
+                        setCounters(ps, progress);
+                        ps.setLong(8, progress.getId());
+                    });
+        }
+        for (Map.Entry<String, Map<Long, AchievementProgress>> game : inserts.entrySet()) {
+            List<AchievementProgress> created = new ArrayList<>(game.getValue().values());
+            jdbcTemplate.batchUpdate("INSERT INTO achievement_progress (games_played, wins, current_streak, "
+                    + "best_streak, best_score, total_score, unlocked_mask, user_id, game) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    created, created.size(), (ps, progress) -> {
+                        setCounters(ps, progress);
+                        ps.setLong(8, progress.getUserId());
+                        ps.setString(9, progress.getGame());
+                    });
+            // Batched inserts don't reliably return generated keys, so read the new ids back by the unique key
+            namedJdbcTemplate.query(
+                    "SELECT id, user_id FROM achievement_progress WHERE game = :game AND user_id IN (:userIds)",
+                    Map.of("game", game.getKey(), "userIds", game.getValue().keySet()),
+                    (RowCallbackHandler) row -> game.getValue().get(row.getLong(2)).setId(row.getLong(1)));
+        }
+    }
+
+    // The seven counters, as the first parameters of both statements
+    private static void setCounters(PreparedStatement ps, AchievementProgress progress) throws SQLException {
+        ps.setLong(1, progress.getGamesPlayed());
+        ps.setLong(2, progress.getWins());
+        ps.setLong(3, progress.getCurrentStreak());
+        ps.setLong(4, progress.getBestStreak());
+        ps.setLong(5, progress.getBestScore());
+        ps.setLong(6, progress.getTotalScore());
+        ps.setLong(7, progress.getUnlockedMask());
+    }
+}
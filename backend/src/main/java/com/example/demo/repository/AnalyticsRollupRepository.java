@@ -0,0 +1,17 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.AnalyticsRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AnalyticsRollupRepository extends JpaRepository<AnalyticsRollup, Long> {
+    Optional<AnalyticsRollup> findByGameAndPeriodAndBucketStart(String game, String period, LocalDateTime bucketStart);
+
+    List<AnalyticsRollup> findByGameAndPeriodAndBucketStartBetweenOrderByBucketStart(String game, String period,
+            LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,25 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Friendship;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FriendshipRepository extends JpaRepository<Friendship, Long> {
+    // Callers pass the pair ordered smaller id first, as the rows are stored
+    Optional<Friendship> findByUserIdAndFriendId(Long userId, Long friendId);
+
+    // Requests waiting for this player's answer
+    @Query("SELECT f FROM Friendship f WHERE f.status = 'PENDING' AND f.requestedBy <> :id "
+            + "AND (f.userId = :id OR f.friendId = :id)")
+    List<Friendship> findIncomingRequests(@Param("id") Long id);
+
+    // Keyset pages of accepted friendships for loading the in-memory graph
+    List<Friendship> findByStatusAndIdGreaterThanOrderById(String status, Long id, Pageable pageable);
+}
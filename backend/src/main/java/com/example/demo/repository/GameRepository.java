@@ -2,8 +2,22 @@ package com.example.demo.repository;
 
 import com.example.demo.model.Game;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface GameRepository extends JpaRepository<Game, Long> {
+
+    // Single UPDATE statement, so concurrent reviews cannot lose increments
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Game g SET g.reviewCount = g.reviewCount + 1, g.ratingSum = g.ratingSum + :rating, "
+            + "g.ratingCount1 = g.ratingCount1 + CASE WHEN :rating = 1 THEN 1 ELSE 0 END, "
+            + "g.ratingCount2 = g.ratingCount2 + CASE WHEN :rating = 2 THEN 1 ELSE 0 END, "
+            + "g.ratingCount3 = g.ratingCount3 + CASE WHEN :rating = 3 THEN 1 ELSE 0 END, "
+            + "g.ratingCount4 = g.ratingCount4 + CASE WHEN :rating = 4 THEN 1 ELSE 0 END, "
+            + "g.ratingCount5 = g.ratingCount5 + CASE WHEN :rating = 5 THEN 1 ELSE 0 END "
+            + "WHERE g.id = :gameId")
+    int addRating(@Param("gameId") Long gameId, @Param("rating") int rating);
 }
@@ -0,0 +1,18 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.GameStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface GameStatsRepository extends JpaRepository<GameStats, Long> {
+    List<GameStats> findByUserId(Long userId);
+
+    List<GameStats> findByUserIdIn(Collection<Long> userIds);
+
+    // Per-game leaderboard, read off idx_game_stats_game_best
+    List<GameStats> findTop50ByGameOrderByBestScoreDescWinsDesc(String game);
+}
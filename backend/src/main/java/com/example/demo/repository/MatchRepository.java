@@ -1,13 +1,25 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.Match;
-import com.example.demo.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface MatchRepository extends JpaRepository<Match, Long> {
-    List<Match> findByUserOrderByPlayedAtDesc(User user);
+    // Newest first straight off idx_matches_user_played. The hint keeps H2 from planning on the foreign key's
+    // own user_id index, which it keeps alongside (MySQL drops it) and would sort every history from.
+    @Query(value = "SELECT * FROM matches USE INDEX (idx_matches_user_played) WHERE user_id = :userId "
+            + "ORDER BY played_at DESC", nativeQuery = true)
+    List<Match> findHistory(@Param("userId") Long userId);
+
+    // Rows of [id, userId, opponentId, result] for rating replays; ids are assigned in insertion
+    // order, so paging by id walks the history chronologically without an offset scan
+    @Query("SELECT m.id, m.user.id, m.opponentId, m.result FROM Match m "
+            + "WHERE m.gameName = :game AND m.id > :afterId ORDER BY m.id")
+    List<Object[]> findReplayChunk(@Param("game") String game, @Param("afterId") long afterId, Pageable pageable);
 }
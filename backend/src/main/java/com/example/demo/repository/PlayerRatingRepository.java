@@ -0,0 +1,24 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.PlayerRating;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PlayerRatingRepository extends JpaRepository<PlayerRating, Long>, PlayerRatingRepositoryCustom {
+    Optional<PlayerRating> findByUserIdAndGame(Long userId, String game);
+
+    List<PlayerRating> findByUserId(Long userId);
+
+    // user id and row id of every rating in a game, without loading the entities
+    @Query("SELECT r.userId, r.id FROM PlayerRating r WHERE r.game = :game")
+    List<Object[]> findIdsByGame(@Param("game") String game);
+
+    List<PlayerRating> findByGameOrderByRatingDesc(String game, Pageable pageable);
+}
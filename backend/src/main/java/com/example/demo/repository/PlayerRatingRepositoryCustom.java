@@ -0,0 +1,11 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.PlayerRating;
+
+import java.util.List;
+
+public interface PlayerRatingRepositoryCustom {
+    // Writes the ratings with batched JDBC statements instead of a SELECT and an UPDATE per entity; rows
+    // without an id are inserted and get theirs set
+    void saveBatch(List<PlayerRating> ratings);
+}
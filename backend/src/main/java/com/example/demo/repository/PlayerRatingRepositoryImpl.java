@@ -0,0 +1,70 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.PlayerRating;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PlayerRatingRepositoryImpl implements PlayerRatingRepositoryCustom {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Override
+    @Transactional
+    public void saveBatch(List<PlayerRating> ratings) {
+        List<PlayerRating> updates = new ArrayList<>();
+        Map<String, Map<Long, PlayerRating>> inserts = new HashMap<>();
+        for (PlayerRating rating : ratings) {
+            if (rating.getId() != null) {
+                updates.add(rating);
+            } else {
+                inserts.computeIfAbsent(rating.getGame(), game -> new HashMap<>()).put(rating.getUserId(), rating);
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE player_ratings SET rating = ?, deviation = ?, volatility = ?, "
+                    + "games_rated = ?, updated_at = ? WHERE id = ?", updates, updates.size(), (ps, rating) -> {
+                        ps.setDouble(1, rating.getRating());
+                        ps.setDouble(2, rating.getDeviation());
+                        ps.setDouble(3, rating.getVolatility());
+                        ps.setLong(4, rating.getGamesRated());
+                        ps.setTimestamp(5, timestamp(rating));
+                        ps.setLong(6, rating.getId());
+                    });
+        }
+        for (Map.Entry<String, Map<Long, PlayerRating>> game : inserts.entrySet()) {
+            List<PlayerRating> rows = new ArrayList<>(game.getValue().values());
+            jdbcTemplate.batchUpdate("INSERT INTO player_ratings (user_id, game, rating, deviation, volatility, "
+                    + "games_rated, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", rows, rows.size(), (ps, rating) -> {
+                        ps.setLong(1, rating.getUserId());
+                        ps.setString(2, rating.getGame());
+                        ps.setDouble(3, rating.getRating());
+                        ps.setDouble(4, rating.getDeviation());
+                        ps.setDouble(5, rating.getVolatility());
+                        ps.setLong(6, rating.getGamesRated());
+                        ps.setTimestamp(7, timestamp(rating));
+                    });
+            // Batched inserts don't reliably return generated keys, so read the new ids back by the unique key
+            namedJdbcTemplate.query(
+                    "SELECT id, user_id FROM player_ratings WHERE game = :game AND user_id IN (:userIds)",
+                    Map.of("game", game.getKey(), "userIds", game.getValue().keySet()),
+                    (RowCallbackHandler) row -> game.getValue().get(row.getLong(2)).setId(row.getLong(1)));
+        }
+    }
+
+    private static Timestamp timestamp(PlayerRating rating) {
+        return rating.getUpdatedAt() != null ? Timestamp.valueOf(rating.getUpdatedAt()) : null;
+    }
+}
@@ -1,11 +1,36 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.Review;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
-    List<Review> findByGameId(Long gameId);
+    // Keyset pages: everything strictly after the cursor in the sort order, limited by the Pageable
+
+    @Query("SELECT r FROM Review r WHERE r.gameId = :gameId "
+            + "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) "
+            + "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findNewestPage(@Param("gameId") Long gameId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT r FROM Review r WHERE r.gameId = :gameId AND r.rating = :rating "
+            + "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) "
+            + "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findNewestPageByRating(@Param("gameId") Long gameId, @Param("rating") int rating,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    // The redundant rating <= bound gives idx_reviews_game_rating a range to seek to instead of only game_id
+    @Query("SELECT r FROM Review r WHERE r.gameId = :gameId AND r.rating <= :rating "
+            + "AND (r.rating < :rating OR (r.rating = :rating "
+            + "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)))) "
+            + "ORDER BY r.rating DESC, r.createdAt DESC, r.id DESC")
+    List<Review> findTopRatedPage(@Param("gameId") Long gameId, @Param("rating") int rating,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
 }
@@ -0,0 +1,28 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Season;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SeasonRepository extends JpaRepository<Season, Long> {
+    Optional<Season> findByNumber(int number);
+
+    Optional<Season> findFirstByStatusOrderByNumberDesc(String status);
+
+    Optional<Season> findFirstByOrderByNumberDesc();
+
+    List<Season> findAllByOrderByNumberDesc();
+
+    // Serializes rollover chunks, so two instances resuming the same season never archive a chunk twice
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Season s WHERE s.id = :id")
+    Optional<Season> lockById(@Param("id") Long id);
+}
@@ -0,0 +1,32 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.SeasonStanding;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SeasonStandingRepository extends JpaRepository<SeasonStanding, SeasonStanding.Key> {
+
+    // Copies one chunk of users (fromId, toId] in a single statement; players without XP are left out
+    @Modifying
+    @Query(value = "INSERT INTO season_standings (season_id, user_id, total_xp, rank_badge) "
+            + "SELECT :seasonId, id, total_xp, rank_badge FROM users "
+            + "WHERE id > :fromId AND id <= :toId AND total_xp > 0", nativeQuery = true)
+    int archiveChunk(@Param("seasonId") Long seasonId, @Param("fromId") long fromId, @Param("toId") long toId);
+
+    List<SeasonStanding> findBySeasonIdOrderByTotalXpDescUserIdAsc(Long seasonId, Pageable pageable);
+
+    Optional<SeasonStanding> findBySeasonIdAndUserId(Long seasonId, Long userId);
+
+    // Competition rank of a score is one more than the number of players above it
+    long countBySeasonIdAndTotalXpGreaterThan(Long seasonId, int totalXp);
+
+    long countBySeasonId(Long seasonId);
+}
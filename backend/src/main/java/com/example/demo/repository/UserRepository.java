@@ -1,8 +1,14 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,5 +23,40 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Boolean existsByEmail(String email);
 
-    List<User> findAllByOrderByTotalXpDesc();
+    List<User> findTop50ByOrderByTotalXpDesc();
+
+    // (id, username) pairs without loading whole users
+    @Query("SELECT u.id, u.username FROM User u WHERE u.id IN :ids")
+    List<Object[]> findUsernames(@Param("ids") List<Long> ids);
+
+    // Row lock that serializes result submissions per user, including the first insert of a game_stats row
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> lockById(@Param("id") Long id);
+
+    // Touches only the bio column, so a stale entity can never write back old XP
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.bio = :bio WHERE u.id = :id")
+    int updateBio(@Param("id") Long id, @Param("bio") String bio);
+
+    // Next season rollover chunk, locked in id order so submissions for these players wait for the chunk
+    @Query(value = "SELECT id FROM users WHERE id > :afterId ORDER BY id LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<Long> lockIdsAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    // Moves everything but the carried-over share of each player's XP into xp_base and re-badges them, by the
+    // same thresholds as GameResultService.rankBadgeFor. rank_badge and xp_base come before total_xp because
+    // MySQL applies SET assignments left to right.
+    @Modifying
+    @Query(value = "UPDATE users SET "
+            + "rank_badge = CASE WHEN FLOOR(total_xp * :keepPercent / 100) < :silverXp THEN 'Bronze' "
+            + "WHEN FLOOR(total_xp * :keepPercent / 100) < :goldXp THEN 'Silver' "
+            + "WHEN FLOOR(total_xp * :keepPercent / 100) < :platinumXp THEN 'Gold' "
+            + "WHEN FLOOR(total_xp * :keepPercent / 100) < :diamondXp THEN 'Platinum' ELSE 'Diamond' END, "
+            + "xp_base = xp_base + total_xp - FLOOR(total_xp * :keepPercent / 100), "
+            + "total_xp = FLOOR(total_xp * :keepPercent / 100) "
+            + "WHERE id > :fromId AND id <= :toId AND total_xp > 0", nativeQuery = true)
+    int rolloverChunk(@Param("fromId") long fromId, @Param("toId") long toId, @Param("keepPercent") int keepPercent,
+            @Param("silverXp") int silverXp, @Param("goldXp") int goldXp, @Param("platinumXp") int platinumXp,
+            @Param("diamondXp") int diamondXp);
 }
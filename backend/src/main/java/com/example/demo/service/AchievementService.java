@@ -0,0 +1,216 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AchievementUnlockedDTO;
+import com.example.demo.event.GameResultSubmitted;
+import com.example.demo.event.GameResultSubscriber;
+import com.example.demo.model.Achievement;
+import com.example.demo.model.Achievement.Metric;
+import com.example.demo.model.AchievementProgress;
+import com.example.demo.repository.AchievementProgressRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+public class AchievementService implements GameResultSubscriber {
+
+    private static final List<Achievement> DEFINITIONS = List.of(
+            new Achievement("TTT_FIRST_WIN", "First Blood", "Win a game of TicTacToe", "TICTACTOE", Metric.WINS, 1),
+            new Achievement("TTT_STREAK_3", "Hat Trick", "Win 3 TicTacToe games in a row", "TICTACTOE", Metric.WIN_STREAK, 3),
+            new Achievement("TTT_STREAK_10", "Unstoppable", "Win 10 TicTacToe games in a row", "TICTACTOE", Metric.WIN_STREAK, 10),
+            new Achievement("TTT_WINS_50", "Grandmaster", "Win 50 games of TicTacToe", "TICTACTOE", Metric.WINS, 50),
+            new Achievement("TTT_PLAYED_100", "Regular", "Play 100 games of TicTacToe", "TICTACTOE", Metric.GAMES_PLAYED, 100),
+            new Achievement("SNAKE_100", "Hungry", "Score 100+ in a single Snake run", "SNAKE", Metric.SCORE, 100),
+            new Achievement("SNAKE_500", "Serpent King", "Score 500+ in a single Snake run", "SNAKE", Metric.SCORE, 500),
+            new Achievement("SNAKE_TOTAL_5000", "Marathon", "Score 5000 points across all Snake runs", "SNAKE", Metric.TOTAL_SCORE, 5000),
+            new Achievement("SNAKE_PLAYED_25", "Charmer", "Play 25 runs of Snake", "SNAKE", Metric.GAMES_PLAYED, 25));
+
+    // Rules that can never fire again per user are skipped through unlockedMask, so a submission
+    // costs one table lookup plus the rules of its own game
+    private static final Map<String, Achievement[]> DISPATCH = new HashMap<>();
+
+    static {
+        Map<String, List<Achievement>> byGame = new LinkedHashMap<>();
+        for (Achievement achievement : DEFINITIONS) {
+            byGame.computeIfAbsent(achievement.getGame(), game -> new ArrayList<>()).add(achievement);
+        }
+        byGame.forEach((game, rules) -> {
+            if (rules.size() > Long.SIZE) {
+                throw new IllegalStateException("Too many achievements for " + game);
+            }
+            DISPATCH.put(game, rules.toArray(new Achievement[0]));
+        });
+    }
+
+    private static final int CACHE_SIZE = 10_000;
+    // Consecutive failed flushes after which the unsaved changes are given up, so dirty entries (which the
+    // cache never evicts) cannot pile up for as long as the database is unavailable
+    private static final int MAX_FLUSH_ATTEMPTS = 3;
+
+    @Autowired
+    private AchievementProgressRepository progressRepository;
+
+    @Autowired
+    private SimpMessagingTemplate template;
+
+    // Only touched by this subscriber's bus thread
+    private final Set<AchievementProgress> dirty = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<Object[]> pendingUnlocks = new ArrayList<>(); // [username, dto]
+    private int failedFlushes;
+    private final LongAdder flushFailures = new LongAdder();
+    private final LongAdder rowsDropped = new LongAdder();
+    private final Map<String, AchievementProgress> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, AchievementProgress> eldest) {
+            return size() > CACHE_SIZE && !dirty.contains(eldest.getValue());
+        }
+    };
+
+    @Override
+    public String getName() {
+        return "achievements";
+    }
+
+    @Override
+    public void onEvent(GameResultSubmitted event, boolean endOfBatch) {
+        Achievement[] rules = DISPATCH.get(event.getGame());
+        if (rules != null && event.getUserId() != null) {
+            AchievementProgress progress = cache.get(event.getUserId() + ":" + event.getGame());
+            if (progress == null) {
+                progress = progressRepository.findByUserIdAndGame(event.getUserId(), event.getGame())
+                        .orElseGet(() -> new AchievementProgress(event.getUserId(), event.getGame()));
+                cache.put(event.getUserId() + ":" + event.getGame(), progress);
+            }
+            apply(progress, event);
+            evaluate(progress, rules, event);
+            dirty.add(progress);
+        }
+        if (endOfBatch) {
+            flush();
+        }
+    }
+
+    public static List<Achievement> getDefinitions() {
+        return DEFINITIONS;
+    }
+
+    // Definitions with unlocked flags and current values, as last flushed to the database
+    public List<Map<String, Object>> getProgress(Long userId) {
+        Map<String, AchievementProgress> byGame = new HashMap<>();
+        for (AchievementProgress progress : progressRepository.findByUserId(userId)) {
+            byGame.put(progress.getGame(), progress);
+        }
+
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (Map.Entry<String, Achievement[]> entry : DISPATCH.entrySet()) {
+            AchievementProgress progress = byGame.getOrDefault(entry.getKey(), new AchievementProgress());
+            Achievement[] rules = entry.getValue();
+            for (int bit = 0; bit < rules.length; bit++) {
+                Achievement rule = rules[bit];
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("id", rule.getId());
+                item.put("title", rule.getTitle());
+                item.put("description", rule.getDescription());
+                item.put("game", rule.getGame());
+                item.put("threshold", rule.getThreshold());
+                item.put("progress", Math.min(rule.getThreshold(), value(progress, rule.getMetric(), 0)));
+                item.put("unlocked", (progress.getUnlockedMask() & (1L << bit)) != 0);
+                list.add(item);
+            }
+        }
+        return list;
+    }
+
+    private static void apply(AchievementProgress progress, GameResultSubmitted event) {
+        progress.setGamesPlayed(progress.getGamesPlayed() + 1);
+        progress.setTotalScore(progress.getTotalScore() + Math.max(0, event.getScore()));
+        progress.setBestScore(Math.max(progress.getBestScore(), event.getScore()));
+        if ("WIN".equalsIgnoreCase(event.getResult())) {
+            progress.setWins(progress.getWins() + 1);
+            progress.setCurrentStreak(progress.getCurrentStreak() + 1);
+            progress.setBestStreak(Math.max(progress.getBestStreak(), progress.getCurrentStreak()));
+        } else if ("LOSS".equalsIgnoreCase(event.getResult()) || "DRAW".equalsIgnoreCase(event.getResult())) {
+            progress.setCurrentStreak(0);
+        }
+    }
+
+    private void evaluate(AchievementProgress progress, Achievement[] rules, GameResultSubmitted event) {
+        long unlocked = progress.getUnlockedMask();
+        for (int bit = 0; bit < rules.length; bit++) {
+            if ((unlocked & (1L << bit)) == 0
+                    && value(progress, rules[bit].getMetric(), event.getScore()) >= rules[bit].getThreshold()) {
+                unlocked |= 1L << bit;
+                Achievement rule = rules[bit];
+                pendingUnlocks.add(new Object[] { event.getUsername(), new AchievementUnlockedDTO(rule.getId(),
+                        rule.getTitle(), rule.getDescription(), rule.getGame(), event.getSubmittedAt()) });
+            }
+        }
+        progress.setUnlockedMask(unlocked);
+    }
+
+    private static long value(AchievementProgress progress, Metric metric, int score) {
+        switch (metric) {
+            case GAMES_PLAYED:
+                return progress.getGamesPlayed();
+            case WINS:
+                return progress.getWins();
+            case WIN_STREAK:
+                return progress.getCurrentStreak();
+            case SCORE:
+                return Math.max(score, progress.getBestScore());
+            case TOTAL_SCORE:
+                return progress.getTotalScore();
+            default:
+                return 0;
+        }
+    }
+
+    // One batched write per bus batch; players hear about unlocks only once they are stored
+    private void flush() {
+        if (!dirty.isEmpty()) {
+            List<AchievementProgress> rows = new ArrayList<>(dirty);
+            List<AchievementProgress> created = rows.stream().filter(progress -> progress.getId() == null).toList();
+            try {
+                progressRepository.saveBatch(rows);
+                dirty.clear();
+                failedFlushes = 0;
+            } catch (RuntimeException e) {
+                flushFailures.increment();
+                System.out.println("Achievement flush failed: " + e.getMessage());
+                created.forEach(progress -> progress.setId(null)); // rolled back with the rest
+                if (++failedFlushes < MAX_FLUSH_ATTEMPTS) {
+                    return; // retried with the next batch, unlocks still held back
+                }
+                // The cached copies go too, so these players are reloaded as stored and unlock again once
+                // they qualify
+                rowsDropped.add(dirty.size());
+                cache.values().removeIf(dirty::contains);
+                dirty.clear();
+                pendingUnlocks.clear();
+                failedFlushes = 0;
+                return;
+            }
+        }
+        for (Object[] unlock : pendingUnlocks) {
+            template.convertAndSend("/topic/achievements/" + unlock[0], unlock[1]);
+        }
+        pendingUnlocks.clear();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("flushFailures", flushFailures.sum());
+        stats.put("rowsDropped", rowsDropped.sum());
+        return stats;
+    }
+}
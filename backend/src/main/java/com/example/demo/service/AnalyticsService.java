@@ -0,0 +1,272 @@
+package com.example.demo.service;
+
+import com.example.demo.event.GameResultSubmitted;
+import com.example.demo.event.GameResultSubscriber;
+import com.example.demo.event.PresenceEvent;
+import com.example.demo.model.AnalyticsBucket;
+import com.example.demo.model.AnalyticsRollup;
+import com.example.demo.model.HyperLogLog;
+import com.example.demo.repository.AnalyticsRollupRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Incremental DAU/WAU/MAU, session counts and score histograms per game. Every result or connect updates the
+// open hour, day, week and month buckets at once; only those stay in memory, and they are written to
+// analytics_rollups on a timer, so dashboards never scan matches
+@Service
+public class AnalyticsService implements GameResultSubscriber {
+
+    public static final String PLATFORM = "PLATFORM"; // STOMP connects and users coming online
+    private static final String OTHER_GAMES = "OTHER";
+    private static final int MAX_SERIES_BUCKETS = 400;
+    // Closed buckets stay open this long for stragglers before they are flushed for the last time and dropped
+    private static final long CLOSED_RETENTION_MINUTES = 10;
+
+    @Autowired
+    private AnalyticsRollupRepository rollupRepository;
+
+    @Value("${analytics.max-games:64}")
+    private int maxGames;
+
+    // Guarded by this
+    private final Map<String, AnalyticsBucket> open = new HashMap<>();
+    private final Set<String> games = new LinkedHashSet<>();
+
+    private final LongAdder rowsWritten = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+
+    @Override
+    public String getName() {
+        return "analytics";
+    }
+
+    @Override
+    public void onEvent(GameResultSubmitted event, boolean endOfBatch) {
+        if (event.getGame() == null) {
+            return;
+        }
+        int score = event.getScore();
+        String result = event.getResult();
+        record(gameKey(event.getGame()), event.getUsername(), event.getSubmittedAt(),
+                bucket -> bucket.addResult(score, result));
+    }
+
+    @EventListener
+    public void onPresence(PresenceEvent event) {
+        if (event.getType() == PresenceEvent.Type.ONLINE) {
+            record(PLATFORM, event.getUsername(), System.currentTimeMillis(), bucket -> {
+            });
+        }
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        record(PLATFORM, null, event.getTimestamp(), AnalyticsBucket::addSession);
+    }
+
+    private synchronized void record(String key, String username, long timestamp, Consumer<AnalyticsBucket> update) {
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneOffset.UTC);
+        long hash = username != null ? HyperLogLog.hash(username) : 0;
+        for (String period : AnalyticsBucket.PERIODS) {
+            LocalDateTime start = AnalyticsBucket.startOf(period, time);
+            AnalyticsBucket bucket = open.computeIfAbsent(bucketKey(key, period, start),
+                    k -> new AnalyticsBucket(key, period, start));
+            if (username != null) {
+                bucket.addPlayer(hash);
+            }
+            update.accept(bucket);
+        }
+    }
+
+    // Game names come from clients, so past the cap new ones share a bucket and memory stays bounded
+    private synchronized String gameKey(String game) {
+        String key = game.toUpperCase();
+        if (games.contains(key)) {
+            return key;
+        }
+        if (games.size() >= maxGames || key.equals(PLATFORM)) {
+            return OTHER_GAMES;
+        }
+        games.add(key);
+        return key;
+    }
+
+    private static String bucketKey(String game, String period, LocalDateTime start) {
+        return period + "|" + game + "|" + start;
+    }
+
+    @PreDestroy
+    public void stop() {
+        flush();
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.flush-ms:60000}")
+    public void flush() {
+        // Buckets opened since the last flush pick up any row already stored for them (e.g. before a restart)
+        List<AnalyticsBucket> unloaded = new ArrayList<>();
+        synchronized (this) {
+            for (AnalyticsBucket bucket : open.values()) {
+                if (!bucket.isLoaded()) {
+                    unloaded.add(bucket);
+                }
+            }
+        }
+        Map<AnalyticsBucket, AnalyticsRollup> stored = new IdentityHashMap<>();
+        for (AnalyticsBucket bucket : unloaded) {
+            rollupRepository.findByGameAndPeriodAndBucketStart(bucket.getGame(), bucket.getPeriod(), bucket.getStart())
+                    .ifPresent(row -> stored.put(bucket, row));
+        }
+
+        List<AnalyticsBucket> written = new ArrayList<>();
+        List<AnalyticsRollup> rows = new ArrayList<>();
+        synchronized (this) {
+            for (AnalyticsBucket bucket : unloaded) {
+                AnalyticsRollup row = stored.get(bucket);
+                if (row != null) {
+                    bucket.merge(AnalyticsBucket.fromRollup(row));
+                    bucket.setRowId(row.getId());
+                }
+                bucket.setLoaded(true);
+            }
+            for (AnalyticsBucket bucket : open.values()) {
+                if (bucket.isDirty()) {
+                    rows.add(bucket.toRollup());
+                    written.add(bucket);
+                    bucket.setDirty(false);
+                }
+            }
+        }
+
+        try {
+            List<AnalyticsRollup> saved = rollupRepository.saveAll(rows);
+            rowsWritten.add(saved.size());
+            synchronized (this) {
+                for (int i = 0; i < written.size(); i++) {
+                    written.get(i).setRowId(saved.get(i).getId());
+                }
+            }
+        } catch (RuntimeException e) {
+            flushFailures.increment();
+            System.out.println("Analytics flush failed: " + e.getMessage());
+            synchronized (this) {
+                written.forEach(bucket -> bucket.setDirty(true));
+            }
+        }
+
+        LocalDateTime evictBefore = LocalDateTime.now(ZoneOffset.UTC).minusMinutes(CLOSED_RETENTION_MINUTES);
+        synchronized (this) {
+            open.values().removeIf(bucket -> !bucket.isDirty() && bucket.isLoaded()
+                    && AnalyticsBucket.endOf(bucket.getPeriod(), bucket.getStart()).isBefore(evictBefore));
+        }
+    }
+
+    // The most recent count buckets of a period, stored rows overlaid with whatever is still open in memory
+    public List<Map<String, Object>> getSeries(String game, String period, int count) {
+        List<Map<String, Object>> series = new ArrayList<>();
+        for (AnalyticsBucket bucket : buckets(game, period, count)) {
+            series.add(bucket.toSummary());
+        }
+        return series;
+    }
+
+    public Map<String, Object> getSummary(String game) {
+        List<AnalyticsBucket> days = buckets(game, AnalyticsBucket.DAY, 30);
+        HyperLogLog last7 = new HyperLogLog();
+        HyperLogLog last30 = new HyperLogLog();
+        LocalDateTime today = AnalyticsBucket.startOf(AnalyticsBucket.DAY, LocalDateTime.now(ZoneOffset.UTC));
+        long dau = 0;
+        long sessionsToday = 0;
+        for (AnalyticsBucket day : days) {
+            last30.merge(day.getPlayers());
+            if (!day.getStart().isBefore(today.minusDays(6))) {
+                last7.merge(day.getPlayers());
+            }
+            if (day.getStart().equals(today)) {
+                dau = day.getPlayers().estimate();
+                sessionsToday = day.getSessions();
+            }
+        }
+        List<AnalyticsBucket> weeks = buckets(game, AnalyticsBucket.WEEK, 1);
+        List<AnalyticsBucket> months = buckets(game, AnalyticsBucket.MONTH, 1);
+        long mau = last30.estimate();
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("game", game.toUpperCase());
+        summary.put("dau", dau);
+        summary.put("sessionsToday", sessionsToday);
+        summary.put("rolling7DayPlayers", last7.estimate());
+        summary.put("rolling30DayPlayers", mau);
+        summary.put("calendarWeekPlayers", weeks.isEmpty() ? 0 : weeks.get(0).getPlayers().estimate());
+        summary.put("calendarMonthPlayers", months.isEmpty() ? 0 : months.get(0).getPlayers().estimate());
+        // DAU/MAU stickiness over the rolling 30-day window
+        summary.put("stickiness", mau > 0 ? Math.round((double) dau / mau * 1000.0) / 1000.0 : 0.0);
+        return summary;
+    }
+
+    public synchronized Set<String> getGames() {
+        return new LinkedHashSet<>(games);
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("openBuckets", open.size());
+        stats.put("games", games.size());
+        stats.put("rowsWritten", rowsWritten.sum());
+        stats.put("flushFailures", flushFailures.sum());
+        return stats;
+    }
+
+    private List<AnalyticsBucket> buckets(String game, String period, int count) {
+        if (!AnalyticsBucket.PERIODS.contains(period)) {
+            throw new IllegalArgumentException("Period must be one of " + AnalyticsBucket.PERIODS);
+        }
+        String key = game.toUpperCase();
+        int limit = Math.max(1, Math.min(count, MAX_SERIES_BUCKETS));
+        LocalDateTime to = AnalyticsBucket.startOf(period, LocalDateTime.now(ZoneOffset.UTC));
+        LocalDateTime from = to;
+        for (int i = 1; i < limit; i++) {
+            from = AnalyticsBucket.startOf(period, from.minusSeconds(1));
+        }
+
+        TreeMap<LocalDateTime, AnalyticsBucket> byStart = new TreeMap<>();
+        for (AnalyticsRollup row : rollupRepository.findByGameAndPeriodAndBucketStartBetweenOrderByBucketStart(key,
+                period, from, to)) {
+            byStart.put(row.getBucketStart(), AnalyticsBucket.fromRollup(row));
+        }
+        synchronized (this) {
+            for (AnalyticsBucket bucket : open.values()) {
+                if (bucket.getGame().equals(key) && bucket.getPeriod().equals(period)
+                        && !bucket.getStart().isBefore(from) && !bucket.getStart().isAfter(to)) {
+                    AnalyticsBucket live = bucket.copy();
+                    AnalyticsBucket stored = byStart.get(bucket.getStart());
+                    // Until its first flush an open bucket only holds what arrived since startup
+                    if (!live.isLoaded() && stored != null) {
+                        live.merge(stored);
+                    }
+                    byStart.put(bucket.getStart(), live);
+                }
+            }
+        }
+        return new ArrayList<>(byStart.values());
+    }
+}
@@ -0,0 +1,337 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ChatHistoryEntryDTO;
+import com.example.demo.model.ChatMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Service
+public class ChatHistoryService {
+
+    private static final int MAX_TERM_LENGTH = 32;
+    // Search results are read back from the ring this many candidates per read-lock hold
+    private static final int READ_BATCH = 256;
+
+    // Retained messages live in a ring indexed by message id mod capacity
+    private final int capacity;
+    private final long retentionMs;
+    private final String[] contents;
+    private final String[] senders;
+    private final String[] rooms;
+    private final long[] sentAt;
+
+    private final Map<String, PostingList> termIndex = new HashMap<>();
+    private final Map<String, PostingList> senderIndex = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Never wrap, so an id always names the same message
+    private long nextId;
+    private long oldestId;
+
+    public ChatHistoryService(@Value("${chat.history.capacity:1000000}") int capacity,
+            @Value("${chat.history.retention-hours:24}") long retentionHours) {
+        this.capacity = capacity;
+        this.retentionMs = retentionHours * 3_600_000L;
+        this.contents = new String[capacity];
+        this.senders = new String[capacity];
+        this.rooms = new String[capacity];
+        this.sentAt = new long[capacity];
+    }
+
+    public void record(String roomId, ChatMessage chatMessage) {
+        String content = chatMessage.getContent();
+        String sender = chatMessage.getSender();
+        if (content == null || sender == null) {
+            return;
+        }
+        List<String> terms = tokenize(content);
+
+        lock.writeLock().lock();
+        try {
+            long id = nextId++;
+            if (id - oldestId >= capacity) {
+                oldestId = id - capacity + 1;
+            }
+            int slot = slot(id);
+            contents[slot] = content;
+            senders[slot] = sender;
+            rooms[slot] = roomId;
+            sentAt[slot] = System.currentTimeMillis();
+
+            for (String term : terms) {
+                termIndex.computeIfAbsent(term, t -> new PostingList()).add(id);
+            }
+            senderIndex.computeIfAbsent(sender.toLowerCase(Locale.ROOT), s -> new PostingList()).add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<ChatHistoryEntryDTO> search(String query, String phrase, String sender, String roomId, int limit) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (query != null) {
+            terms.addAll(tokenize(query));
+        }
+        List<String> phraseTerms = phrase != null ? tokenize(phrase) : List.of();
+        terms.addAll(phraseTerms);
+
+        List<ChatHistoryEntryDTO> results = new ArrayList<>();
+        List<PostingList> lists = new ArrayList<>();
+        long minId;
+        lock.readLock().lock();
+        try {
+            for (String term : terms) {
+                PostingList postings = termIndex.get(term);
+                if (postings == null) {
+                    return results;
+                }
+                lists.add(postings.copy());
+            }
+            if (sender != null) {
+                PostingList postings = senderIndex.get(sender.toLowerCase(Locale.ROOT));
+                if (postings == null) {
+                    return results;
+                }
+                lists.add(postings.copy());
+            }
+            minId = oldestId;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (lists.isEmpty()) {
+            return results;
+        }
+
+        // Decoding and intersecting work on the copies, so a long search does not hold up record()
+        // Start from the rarest list so every later intersection only shrinks a small array
+        lists.sort((a, b) -> Integer.compare(a.count, b.count));
+        long[] candidates = lists.get(0).decode(minId);
+        int size = candidates.length;
+        for (int i = 1; i < lists.size() && size > 0; i++) {
+            size = lists.get(i).retainAll(candidates, size);
+        }
+
+        // Newest first, a batch at a time; messages that left the ring since the copy are skipped
+        int i = size - 1;
+        while (i >= 0 && results.size() < limit) {
+            List<ChatHistoryEntryDTO> batch = new ArrayList<>();
+            lock.readLock().lock();
+            try {
+                for (; i >= 0 && batch.size() < READ_BATCH; i--) {
+                    if (candidates[i] < oldestId) {
+                        i = -1; // every older candidate is gone too
+                        break;
+                    }
+                    int slot = slot(candidates[i]);
+                    if (roomId == null || roomId.equals(rooms[slot])) {
+                        batch.add(new ChatHistoryEntryDTO(rooms[slot], senders[slot], contents[slot],
+                                LocalDateTime.ofInstant(Instant.ofEpochMilli(sentAt[slot]), ZoneId.systemDefault())));
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            for (ChatHistoryEntryDTO entry : batch) {
+                if (results.size() == limit) {
+                    break;
+                }
+                if (phraseTerms.size() <= 1 || containsPhrase(tokenize(entry.getContent()), phraseTerms)) {
+                    results.add(entry);
+                }
+            }
+        }
+        return results;
+    }
+
+    @Scheduled(fixedRate = 60_000)
+    public void pruneExpired() {
+        long cutoff = System.currentTimeMillis() - retentionMs;
+        lock.writeLock().lock();
+        try {
+            while (oldestId < nextId && sentAt[slot(oldestId)] < cutoff) {
+                int slot = slot(oldestId);
+                contents[slot] = null;
+                senders[slot] = null;
+                rooms[slot] = null;
+                oldestId++;
+            }
+            prune(termIndex);
+            prune(senderIndex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void prune(Map<String, PostingList> index) {
+        Iterator<PostingList> it = index.values().iterator();
+        while (it.hasNext()) {
+            PostingList postings = it.next();
+            postings.prune(oldestId);
+            if (postings.count == 0) {
+                it.remove();
+            }
+        }
+    }
+
+    private int slot(long id) {
+        return Math.floorMod(id, capacity);
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start <= MAX_TERM_LENGTH) {
+                    terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private static boolean containsPhrase(List<String> tokens, List<String> phrase) {
+        for (int i = 0; i + phrase.size() <= tokens.size(); i++) {
+            if (tokens.subList(i, i + phrase.size()).equals(phrase)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Ascending message ids stored as varint-encoded gaps in a single byte array
+    private static class PostingList {
+        private byte[] data = new byte[8];
+        private int start;
+        private int end;
+        private long baseId = -1; // id preceding the gap at 'start'
+        private long lastId = -1;
+        private int count;
+
+        private void add(long id) {
+            if (id == lastId) {
+                return; // repeated term within one message
+            }
+            long gap = id - lastId;
+            if (end + 10 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            while ((gap & ~0x7FL) != 0) {
+                data[end++] = (byte) ((gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            data[end++] = (byte) gap;
+            lastId = id;
+            count++;
+        }
+
+        // The encoded part only; searches decode the copy without holding the lock
+        private PostingList copy() {
+            PostingList copy = new PostingList();
+            copy.data = Arrays.copyOfRange(data, start, end);
+            copy.end = end - start;
+            copy.baseId = baseId;
+            copy.lastId = lastId;
+            copy.count = count;
+            return copy;
+        }
+
+        private long[] decode(long minId) {
+            long[] ids = new long[count];
+            int n = 0;
+            int pos = start;
+            long id = baseId;
+            while (pos < end) {
+                long gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[pos++];
+                    gap |= (b & 0x7FL) << shift;
+                    shift += 7;
+                } while (b < 0);
+                id += gap;
+                if (id >= minId) {
+                    ids[n++] = id;
+                }
+            }
+            return n == ids.length ? ids : Arrays.copyOf(ids, n);
+        }
+
+        // Keeps only candidates present in this list; returns the new candidate count
+        private int retainAll(long[] candidates, int size) {
+            int kept = 0;
+            int i = 0;
+            int pos = start;
+            long id = baseId;
+            while (pos < end && i < size) {
+                long gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[pos++];
+                    gap |= (b & 0x7FL) << shift;
+                    shift += 7;
+                } while (b < 0);
+                id += gap;
+                while (i < size && candidates[i] < id) {
+                    i++;
+                }
+                if (i < size && candidates[i] == id) {
+                    candidates[kept++] = id;
+                    i++;
+                }
+            }
+            return kept;
+        }
+
+        private void prune(long minId) {
+            int pos = start;
+            long id = baseId;
+            while (pos < end) {
+                int next = pos;
+                long gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[next++];
+                    gap |= (b & 0x7FL) << shift;
+                    shift += 7;
+                } while (b < 0);
+                if (id + gap >= minId) {
+                    break;
+                }
+                id += gap;
+                pos = next;
+                count--;
+            }
+            start = pos;
+            baseId = id;
+            if (start > data.length / 2) {
+                data = Arrays.copyOfRange(data, start, start + Math.max(8, end - start));
+                end -= start;
+                start = 0;
+            }
+        }
+    }
+}
@@ -1,37 +1,91 @@
 package com.example.demo.service;
 
 import com.example.demo.model.ChatRoom;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class ChatRoomService {
 
-    // Simple In-Memory Storage
-    private final List<ChatRoom> activeRooms = new ArrayList<>();
+    private static final int SNAPSHOT_MAGIC = 0x47564352; // "GVCR"
+    // Version 1 also stored memberships; those are skipped on restore
+    private static final int SNAPSHOT_VERSION = 2;
 
-    public ChatRoomService() {
-        // Initialize with a default global room
-        activeRooms.add(new ChatRoom("General Lobby", 100, "System"));
+    // In-Memory Storage, persisted through periodic snapshots
+    private final Map<String, ChatRoom> activeRooms = new ConcurrentHashMap<>();
+    // Same rooms keyed by creation sequence, for listing in creation order
+    private final Map<Long, ChatRoom> roomOrder = new ConcurrentSkipListMap<>();
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    private final Path snapshotPath;
+    private volatile boolean dirty;
+
+    public ChatRoomService(@Value("${chat.rooms.snapshot-path:data/chat-rooms.snapshot}") String snapshotPath) {
+        this.snapshotPath = Paths.get(snapshotPath);
+    }
+
+    @PostConstruct
+    public void restore() {
+        // Runs during context startup, so rooms are back before the web server accepts traffic
+        long start = System.nanoTime();
+        if (Files.exists(snapshotPath)) {
+            try {
+                readSnapshot();
+            } catch (IOException e) {
+                System.out.println("Could not restore chat room snapshot: " + e.getMessage());
+                activeRooms.clear();
+                roomOrder.clear();
+            }
+        }
+
+        if (activeRooms.isEmpty()) {
+            // Initialize with a default global room
+            add(new ChatRoom("General Lobby", 100, "System"));
+            dirty = true;
+        }
+        System.out.println("Restored " + activeRooms.size() + " chat rooms in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
     }
 
     public List<ChatRoom> getRooms() {
-        return activeRooms;
+        return new ArrayList<>(roomOrder.values());
     }
 
     public ChatRoom createRoom(String name, int maxMembers, String createdBy) {
         ChatRoom newRoom = new ChatRoom(name, maxMembers, createdBy);
-        activeRooms.add(newRoom);
+        add(newRoom);
+        dirty = true;
         return newRoom;
     }
 
+    private void add(ChatRoom room) {
+        activeRooms.put(room.getId(), room);
+        roomOrder.put(nextSequence.getAndIncrement(), room);
+    }
+
     public Optional<ChatRoom> getRoomById(String roomId) {
-        return activeRooms.stream()
-                .filter(r -> r.getId().equals(roomId))
-                .findFirst();
+        return Optional.ofNullable(activeRooms.get(roomId));
     }
 
     public boolean joinRoom(String roomId, String username) {
@@ -40,12 +94,102 @@ public class ChatRoomService {
             return false;
         }
 
-        ChatRoom room = roomOpt.get();
-        return room.addMember(username);
+        // Memberships are not part of the snapshot, so joining does not make it dirty
+        return roomOpt.get().addMember(username);
     }
 
     public void leaveRoom(String roomId, String username) {
         Optional<ChatRoom> roomOpt = getRoomById(roomId);
         roomOpt.ifPresent(room -> room.removeMember(username));
     }
+
+    @Scheduled(fixedRate = 30_000)
+    public void snapshotIfDirty() {
+        if (dirty) {
+            snapshot();
+        }
+    }
+
+    @PreDestroy
+    public void snapshot() {
+        dirty = false;
+        long start = System.nanoTime();
+        try {
+            writeSnapshot();
+        } catch (IOException e) {
+            dirty = true;
+            System.out.println("Could not write chat room snapshot: " + e.getMessage());
+            return;
+        }
+        System.out.println("Snapshot of " + activeRooms.size() + " chat rooms written in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private synchronized void writeSnapshot() throws IOException {
+        Path parent = snapshotPath.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, "chat-rooms", ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            List<ChatRoom> rooms = getRooms();
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(rooms.size());
+            for (ChatRoom room : rooms) {
+                out.writeUTF(room.getId());
+                writeNullableUTF(out, room.getName());
+                out.writeInt(room.getMaxMembers());
+                writeNullableUTF(out, room.getCreatedBy());
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        // Readers only ever see a complete snapshot
+        Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Only room metadata comes back: STOMP sessions do not survive a restart, so members re-join when they
+    // reconnect instead of holding seats nobody would ever release
+    private void readSnapshot() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath), 1 << 16))) {
+            int version = in.readInt() == SNAPSHOT_MAGIC ? in.readInt() : -1;
+            if (version != 1 && version != SNAPSHOT_VERSION) {
+                throw new IOException("Unrecognised snapshot format");
+            }
+            int roomCount = in.readInt();
+            List<ChatRoom> rooms = new ArrayList<>(roomCount);
+            for (int i = 0; i < roomCount; i++) {
+                ChatRoom room = new ChatRoom();
+                room.setId(in.readUTF());
+                room.setName(readNullableUTF(in));
+                room.setMaxMembers(in.readInt());
+                room.setCreatedBy(readNullableUTF(in));
+                if (version == 1) {
+                    int memberCount = in.readInt();
+                    for (int m = 0; m < memberCount; m++) {
+                        in.readUTF();
+                    }
+                }
+                rooms.add(room);
+            }
+            if (version == 1) {
+                // Version 1 wrote rooms in hash order; put the System rooms (the lobby) back in front
+                rooms.sort(Comparator.comparing(room -> !"System".equals(room.getCreatedBy())));
+            }
+            rooms.forEach(this::add);
+            dirty = version != SNAPSHOT_VERSION;
+        }
+    }
+
+    private static void writeNullableUTF(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableUTF(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
 }
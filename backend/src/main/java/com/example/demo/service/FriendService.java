@@ -0,0 +1,373 @@
+package com.example.demo.service;
+
+import com.example.demo.event.MatchPairedEvent;
+import com.example.demo.event.PresenceEvent;
+import com.example.demo.model.FriendGraph;
+import com.example.demo.model.Friendship;
+import com.example.demo.model.User;
+import com.example.demo.repository.FriendshipRepository;
+import com.example.demo.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+// Friend requests are persisted in friendships; accepted ones are also held in memory as a FriendGraph of
+// user ids, so "which friends are online" and the fan-out when a player comes online or starts a match
+// never touch the database. Notifications go to /topic/friends/{username}.
+@Service
+public class FriendService {
+
+    private static final int LOAD_PAGE_SIZE = 5000;
+
+    @Autowired
+    private FriendshipRepository friendshipRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PresenceService presenceService;
+
+    @Autowired
+    private SimpMessagingTemplate template;
+
+    @Value("${friends.max-friends:1000}")
+    private int maxFriends;
+
+    private final FriendGraph graph = new FriendGraph();
+    // Names of everyone who has ever been in the graph, so fan-out can address them without a lookup
+    private final Map<Long, String> usernames = new ConcurrentHashMap<>();
+    private final Map<String, Long> ids = new ConcurrentHashMap<>();
+    // Online players among those, kept up to date from presence events
+    private final Set<Long> online = ConcurrentHashMap.newKeySet();
+    // Accepts whose transaction has not finished yet, per user. The graph only changes after commit, so these
+    // count against the cap too, or two concurrent accepts could both take a player's last slot
+    private final Map<Long, Integer> reserved = new HashMap<>();
+    private final LongAdder notificationsSent = new LongAdder();
+
+    @PostConstruct
+    public void loadGraph() {
+        // Runs during context startup, so the graph is complete before the web server accepts traffic
+        long start = System.nanoTime();
+        long[] pairs = new long[1024];
+        int count = 0;
+        long after = 0;
+        List<Friendship> page;
+        while (!(page = friendshipRepository.findByStatusAndIdGreaterThanOrderById(Friendship.ACCEPTED, after,
+                PageRequest.of(0, LOAD_PAGE_SIZE))).isEmpty()) {
+            Set<Long> unknown = new LinkedHashSet<>();
+            for (Friendship friendship : page) {
+                if (pairs.length < (count + 1) * 2) {
+                    pairs = Arrays.copyOf(pairs, pairs.length * 2);
+                }
+                pairs[count * 2] = friendship.getUserId();
+                pairs[count * 2 + 1] = friendship.getFriendId();
+                count++;
+                for (Long id : List.of(friendship.getUserId(), friendship.getFriendId())) {
+                    if (!usernames.containsKey(id)) {
+                        unknown.add(id);
+                    }
+                }
+            }
+            for (Object[] row : userRepository.findUsernames(new ArrayList<>(unknown))) {
+                remember((Long) row[0], (String) row[1]);
+            }
+            after = page.get(page.size() - 1).getId();
+        }
+        graph.load(pairs, count);
+        System.out.println("Loaded " + count + " friendships between " + graph.getUserCount() + " players in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    @EventListener
+    public void onPresence(PresenceEvent event) {
+        if (event.getType() != PresenceEvent.Type.ONLINE && event.getType() != PresenceEvent.Type.OFFLINE) {
+            return;
+        }
+        Long id = ids.get(event.getUsername());
+        if (id == null) {
+            return; // never had a friend, so nobody to tell
+        }
+        if (event.getType() == PresenceEvent.Type.ONLINE) {
+            online.add(id);
+        } else {
+            online.remove(id);
+        }
+        notifyFriends(id, notification(event.getType().name(), event.getUsername()));
+    }
+
+    @EventListener
+    public void onMatchPaired(MatchPairedEvent event) {
+        notifyPlaying(event.getFirstPlayer(), event.getSecondPlayer(), event.getGame());
+        notifyPlaying(event.getSecondPlayer(), event.getFirstPlayer(), event.getGame());
+    }
+
+    private void notifyPlaying(String username, String opponent, String game) {
+        Long id = ids.get(username);
+        if (id != null) {
+            Map<String, Object> notification = notification("PLAYING", username);
+            notification.put("game", game);
+            notification.put("opponent", opponent);
+            notifyFriends(id, notification);
+        }
+    }
+
+    // Costs one in-memory probe per friend (or per online player, whichever set is smaller) and one message
+    // per online friend
+    private void notifyFriends(long userId, Map<String, Object> notification) {
+        forEachOnlineFriend(graph.friendsOf(userId), friendId -> send(usernames.get(friendId), notification));
+    }
+
+    private void forEachOnlineFriend(long[] friends, LongConsumer action) {
+        if (friends.length <= online.size()) {
+            for (long friendId : friends) {
+                if (online.contains(friendId)) {
+                    action.accept(friendId);
+                }
+            }
+        } else {
+            for (Long onlineId : online) {
+                if (Arrays.binarySearch(friends, onlineId) >= 0) {
+                    action.accept(onlineId);
+                }
+            }
+        }
+    }
+
+    private void send(String username, Map<String, Object> notification) {
+        if (username != null && presenceService.isOnline(username)) {
+            template.convertAndSend("/topic/friends/" + username, notification);
+            notificationsSent.increment();
+        }
+    }
+
+    private static Map<String, Object> notification(String type, String username) {
+        Map<String, Object> notification = new LinkedHashMap<>();
+        notification.put("type", type);
+        notification.put("username", username);
+        return notification;
+    }
+
+    // Every friend with whether they are online and, if so, which chat rooms they are in
+    public List<Map<String, Object>> getFriends(String username) {
+        Long id = ids.get(username);
+        if (id == null) {
+            return List.of();
+        }
+        List<Map<String, Object>> friends = new ArrayList<>();
+        for (long friendId : graph.friendsOf(id)) {
+            friends.add(friendEntry(friendId, online.contains(friendId)));
+        }
+        return friends;
+    }
+
+    public List<Map<String, Object>> getOnlineFriends(String username) {
+        Long id = ids.get(username);
+        if (id == null) {
+            return List.of();
+        }
+        List<Map<String, Object>> friends = new ArrayList<>();
+        forEachOnlineFriend(graph.friendsOf(id), friendId -> friends.add(friendEntry(friendId, true)));
+        return friends;
+    }
+
+    private Map<String, Object> friendEntry(long friendId, boolean isOnline) {
+        String name = usernames.get(friendId);
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("username", name);
+        entry.put("online", isOnline);
+        entry.put("rooms", isOnline ? presenceService.getRooms(name) : Set.of());
+        return entry;
+    }
+
+    // Pending requests waiting for this player's answer
+    public List<Map<String, Object>> getRequests(User user) {
+        List<Friendship> requests = friendshipRepository.findIncomingRequests(user.getId());
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, String> names = new LinkedHashMap<>();
+        for (Object[] row : userRepository.findUsernames(requests.stream().map(Friendship::getRequestedBy).toList())) {
+            names.put((Long) row[0], (String) row[1]);
+        }
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (Friendship request : requests) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("username", names.get(request.getRequestedBy()));
+            entry.put("requestedAt", request.getCreatedAt());
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    // Sends a request, or accepts the one the other player already sent; returns the resulting status
+    @Transactional
+    public String request(User from, User to) {
+        if (from.getId().equals(to.getId())) {
+            throw new IllegalArgumentException("You cannot add yourself as a friend");
+        }
+        Friendship existing = findPair(from, to);
+        if (existing != null) {
+            if (Friendship.ACCEPTED.equals(existing.getStatus())) {
+                throw new IllegalStateException("Already friends");
+            }
+            if (existing.getRequestedBy().equals(from.getId())) {
+                throw new IllegalStateException("Friend request already sent");
+            }
+            return accept(existing, from, to);
+        }
+        checkRoom(from);
+        friendshipRepository.save(new Friendship(from.getId(), to.getId()));
+        afterCommit(() -> send(to.getUsername(), notification("REQUEST", from.getUsername())));
+        return Friendship.PENDING;
+    }
+
+    @Transactional
+    public void accept(User user, User requester) {
+        Friendship request = findPair(user, requester);
+        if (request == null || !Friendship.PENDING.equals(request.getStatus())
+                || !request.getRequestedBy().equals(requester.getId())) {
+            throw new IllegalArgumentException("No friend request from " + requester.getUsername());
+        }
+        accept(request, user, requester);
+    }
+
+    private String accept(Friendship request, User user, User requester) {
+        reserve(user, requester);
+        try {
+            request.setStatus(Friendship.ACCEPTED);
+            friendshipRepository.save(request);
+        } catch (RuntimeException e) {
+            release(user, requester);
+            throw e;
+        }
+        // Linked before the reservation is released, so the pair always counts against the cap exactly once
+        afterCommit(() -> {
+            link(user, requester);
+            send(requester.getUsername(), notification("ACCEPTED", user.getUsername()));
+        });
+        afterCompletion(() -> release(user, requester));
+        return Friendship.ACCEPTED;
+    }
+
+    // Unfriends, declines a request or withdraws one
+    @Transactional
+    public void remove(User user, User other) {
+        Friendship friendship = findPair(user, other);
+        if (friendship == null) {
+            throw new IllegalArgumentException("No friendship or request with " + other.getUsername());
+        }
+        friendshipRepository.delete(friendship);
+        afterCommit(() -> graph.remove(user.getId(), other.getId()));
+    }
+
+    private Friendship findPair(User a, User b) {
+        return friendshipRepository.findByUserIdAndFriendId(Math.min(a.getId(), b.getId()),
+                Math.max(a.getId(), b.getId())).orElse(null);
+    }
+
+    // Caps fan-out per event as well as list sizes
+    private void checkRoom(User user) {
+        synchronized (reserved) {
+            checkRoomLocked(user);
+        }
+    }
+
+    // Checks and takes a slot for both players in one step
+    private void reserve(User a, User b) {
+        synchronized (reserved) {
+            checkRoomLocked(a);
+            checkRoomLocked(b);
+            reserved.merge(a.getId(), 1, Integer::sum);
+            reserved.merge(b.getId(), 1, Integer::sum);
+        }
+    }
+
+    private void release(User a, User b) {
+        synchronized (reserved) {
+            for (Long id : List.of(a.getId(), b.getId())) {
+                reserved.computeIfPresent(id, (key, count) -> count == 1 ? null : count - 1);
+            }
+        }
+    }
+
+    private void checkRoomLocked(User user) {
+        if (graph.friendsOf(user.getId()).length + reserved.getOrDefault(user.getId(), 0) >= maxFriends) {
+            throw new IllegalStateException(user.getUsername() + " already has " + maxFriends + " friends");
+        }
+    }
+
+    private void link(User a, User b) {
+        for (User user : List.of(a, b)) {
+            remember(user.getId(), user.getUsername());
+            // Presence events for players outside the graph are ignored, so catch up on them here
+            if (presenceService.isOnline(user.getUsername())) {
+                online.add(user.getId());
+            }
+        }
+        graph.add(a.getId(), b.getId());
+    }
+
+    private void remember(Long id, String username) {
+        usernames.put(id, username);
+        ids.put(username, id);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public boolean isKnown(String username) {
+        return ids.containsKey(username);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("players", graph.getUserCount());
+        stats.put("friendships", graph.getEdgeCount());
+        stats.put("online", online.size());
+        stats.put("notificationsSent", notificationsSent.sum());
+        return stats;
+    }
+}
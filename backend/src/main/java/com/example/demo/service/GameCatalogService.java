@@ -0,0 +1,145 @@
+package com.example.demo.service;
+
+import com.example.demo.config.ReplicaRoutingDataSource;
+import com.example.demo.event.CatalogChangedEvent;
+import com.example.demo.model.Game;
+import com.example.demo.repository.GameRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class GameCatalogService {
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Bumped on every committed change; a snapshot is current while its generation matches
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        getSnapshot();
+    }
+
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null && current.generation == generation.get()) {
+            return current;
+        }
+        return rebuild();
+    }
+
+    // True once a non-empty catalog has been loaded, after which seeding never needs the database
+    public boolean isSeeded() {
+        Snapshot current = snapshot;
+        return current != null && !current.games.isEmpty();
+    }
+
+    // Cheap no-op once the catalog is known to be populated
+    public boolean seedIfEmpty() {
+        if (isSeeded()) {
+            return false;
+        }
+        synchronized (this) {
+            if (gameRepository.count() > 0) {
+                return false;
+            }
+            Game g1 = new Game();
+            g1.setTitle("Cyberpunk Arena");
+            g1.setGenre("Shooter");
+            g1.setRating(4.8);
+            g1.setImageUrl("https://images.unsplash.com/photo-1542751371-adc38448a05e?w=800");
+            gameRepository.save(g1);
+
+            Game g2 = new Game();
+            g2.setTitle("Neon Racer");
+            g2.setGenre("Racing");
+            g2.setRating(4.5);
+            g2.setImageUrl("https://images.unsplash.com/photo-1593508512255-86ab42a8e620?w=800");
+            gameRepository.save(g2);
+        }
+        eventPublisher.publishEvent(new CatalogChangedEvent(null));
+        return true;
+    }
+
+    // Only after commit, so a rebuild can never capture rows that are later rolled back
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    private synchronized Snapshot rebuild() {
+        // Another reader may have rebuilt while we waited for the lock
+        long gen = generation.get();
+        Snapshot current = snapshot;
+        if (current != null && current.generation == gen) {
+            return current;
+        }
+
+        // The snapshot is kept until the next change, so it must not come from a lagging replica
+        List<Game> games = List.copyOf(ReplicaRoutingDataSource.onPrimary(gameRepository::findAll));
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(games);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize games catalog", e);
+        }
+        Snapshot rebuilt = new Snapshot(gen, games, json, "\"" + hash(json) + "\"");
+        snapshot = rebuilt;
+        return rebuilt;
+    }
+
+    private static String hash(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class Snapshot {
+        private final long generation;
+        private final List<Game> games;
+        private final byte[] json;
+        private final String etag;
+
+        private Snapshot(long generation, List<Game> games, byte[] json, String etag) {
+            this.generation = generation;
+            this.games = games;
+            this.json = json;
+            this.etag = etag;
+        }
+
+        public List<Game> getGames() {
+            return games;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.demo.service;
+
+import com.example.demo.event.GameResultSubmitted;
+import com.example.demo.event.GameResultSubscriber;
+import com.example.demo.model.GameStats;
+import com.example.demo.model.Match;
+import com.example.demo.model.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Pre-allocated multi-producer ring buffer: request threads claim a slot and fill it in place,
+// every subscriber reads all slots in order on its own thread, in batches of whatever is available
+@Service
+public class GameEventBus {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Autowired(required = false)
+    private List<GameResultSubscriber> subscribers = List.of();
+
+    private final int mask;
+    private final int lapShift;
+    private final GameResultSubmitted[] slots;
+    // Which lap of the ring each slot was last published for, so consumers never read a half-written slot
+    private final AtomicIntegerArray publishedLap;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final long publishTimeoutNanos;
+
+    private final List<Consumer> consumers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder producerWaits = new LongAdder();
+
+    public GameEventBus(@Value("${events.ring-size:4096}") int ringSize,
+            @Value("${events.publish-timeout-ms:20}") long publishTimeoutMs) {
+        int capacity = Integer.highestOneBit(Math.max(2, ringSize - 1)) << 1; // round up to a power of two
+        this.mask = capacity - 1;
+        this.lapShift = Integer.numberOfTrailingZeros(capacity);
+        this.slots = new GameResultSubmitted[capacity];
+        this.publishedLap = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new GameResultSubmitted();
+            publishedLap.set(i, -1);
+        }
+        this.publishTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(publishTimeoutMs);
+    }
+
+    @PostConstruct
+    public void start() {
+        for (GameResultSubscriber subscriber : subscribers) {
+            Consumer consumer = new Consumer(subscriber);
+            consumer.thread = new Thread(consumer::run, "event-bus-" + subscriber.getName());
+            consumer.thread.setDaemon(true);
+            consumers.add(consumer);
+        }
+        consumers.forEach(consumer -> consumer.thread.start());
+        System.out.println("Game event bus started with " + slots.length + " slots and "
+                + consumers.size() + " subscribers");
+    }
+
+    // Returns false if the slowest subscriber stayed a full ring behind for the whole publish timeout
+    public boolean publish(Match match, User user, GameStats stats, double durationSeconds, int previousTotalXp,
+            String previousRankBadge) {
+        if (consumers.isEmpty()) {
+            return true;
+        }
+        long sequence = claim();
+        if (sequence < 0) {
+            dropped.increment();
+            return false;
+        }
+        int index = (int) (sequence & mask);
+        slots[index].fill(sequence, match, user, stats, durationSeconds, previousTotalXp, previousRankBadge);
+        publishedLap.set(index, (int) (sequence >>> lapShift));
+        published.increment();
+
+        for (Consumer consumer : consumers) {
+            if (consumer.idle) {
+                LockSupport.unpark(consumer.thread);
+            }
+        }
+        return true;
+    }
+
+    public Map<String, Object> getStats() {
+        long head = claimed.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ringSize", slots.length);
+        stats.put("published", published.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("producerWaits", producerWaits.sum());
+
+        Map<String, Object> subscriberStats = new LinkedHashMap<>();
+        for (Consumer consumer : consumers) {
+            long processed = consumer.processed.sum();
+            long batches = consumer.batches.sum();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("lag", Math.max(0, head - consumer.sequence.get()));
+            entry.put("processed", processed);
+            entry.put("batches", batches);
+            entry.put("avgBatch", batches > 0 ? (double) processed / batches : 0);
+            entry.put("maxBatch", consumer.maxBatch.get());
+            entry.put("errors", consumer.errors.sum());
+            subscriberStats.put(consumer.subscriber.getName(), entry);
+        }
+        stats.put("subscribers", subscriberStats);
+        return stats;
+    }
+
+    @PreDestroy
+    public void stop() {
+        // Consumers drain what was already published before exiting
+        running = false;
+        for (Consumer consumer : consumers) {
+            LockSupport.unpark(consumer.thread);
+            try {
+                consumer.thread.join(2_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private long claim() {
+        long deadline = 0;
+        while (true) {
+            long current = claimed.get();
+            long next = current + 1;
+            // The slot for next still holds an event the slowest subscriber has not consumed
+            if (next - slots.length > minConsumerSequence()) {
+                long now = System.nanoTime();
+                if (deadline == 0) {
+                    deadline = now + publishTimeoutNanos;
+                    producerWaits.increment();
+                } else if (now > deadline) {
+                    return -1;
+                }
+                LockSupport.parkNanos(50_000);
+                continue;
+            }
+            if (claimed.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private long minConsumerSequence() {
+        long min = Long.MAX_VALUE;
+        for (Consumer consumer : consumers) {
+            min = Math.min(min, consumer.sequence.get());
+        }
+        return min;
+    }
+
+    private boolean isPublished(long sequence) {
+        return publishedLap.get((int) (sequence & mask)) == (int) (sequence >>> lapShift);
+    }
+
+    private class Consumer {
+        private final GameResultSubscriber subscriber;
+        private final AtomicLong sequence = new AtomicLong(-1); // last slot fully processed
+        private Thread thread;
+        private volatile boolean idle;
+
+        private final LongAdder processed = new LongAdder();
+        private final LongAdder batches = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAccumulator maxBatch = new LongAccumulator(Math::max, 0);
+
+        private Consumer(GameResultSubscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        private void run() {
+            long next = sequence.get() + 1;
+            while (running || isPublished(next)) {
+                long available = next - 1;
+                long head = claimed.get();
+                while (available < head && isPublished(available + 1)) {
+                    available++;
+                }
+                if (available < next) {
+                    idle = true;
+                    if (!isPublished(next)) {
+                        LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    }
+                    idle = false;
+                    continue;
+                }
+
+                for (long s = next; s <= available; s++) {
+                    try {
+                        subscriber.onEvent(slots[(int) (s & mask)], s == available);
+                    } catch (Throwable e) {
+                        // Errors too: if this thread died, its sequence would stop and the ring would stay full
+                        errors.increment();
+                        System.out.println("Event subscriber " + subscriber.getName() + " failed: " + e);
+                    }
+                }
+                long batch = available - next + 1;
+                processed.add(batch);
+                batches.increment();
+                maxBatch.accumulate(batch);
+                sequence.set(available); // hands the slots back to producers
+                next = available + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.demo.service;
+
+import com.example.demo.model.GameStats;
+import com.example.demo.model.Match;
+import com.example.demo.model.PlayerStats;
+import com.example.demo.model.User;
+import com.example.demo.repository.GameStatsRepository;
+import com.example.demo.repository.MatchRepository;
+import com.example.demo.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+
+@Service
+public class GameResultService {
+
+    // Rank badge thresholds, shared with the bulk re-badging of a season rollover
+    public static final int SILVER_XP = 500;
+    public static final int GOLD_XP = 1500;
+    public static final int PLATINUM_XP = 3000;
+    public static final int DIAMOND_XP = 5000;
+
+    // Games a result may be submitted for; anything else is rejected before it creates a game_stats row
+    public static final Set<String> SUPPORTED_GAMES = Set.of("TICTACTOE", "SNAKE");
+    // Only these scores are checked by a server-side replay, so only they are trusted and count toward XP
+    public static final Set<String> VERIFIED_SCORE_GAMES = Set.of("SNAKE");
+    // Client-reported play time per result is capped at this; replayed games derive theirs from the replay
+    public static final double MAX_REPORTED_DURATION_SECONDS = 3600;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private GameStatsRepository gameStatsRepository;
+
+    @Autowired
+    private GameEventBus gameEventBus;
+
+    @Autowired
+    private ReadYourWritesService readYourWritesService;
+
+    // A result the client reported; it shows up in the stats but its wins earn no XP
+    @Transactional
+    public PlayerStats recordResult(User user, String game, int score, String result, double durationSeconds) {
+        return recordResult(user, game, score, result, durationSeconds, null, false);
+    }
+
+    // A result decided by the server's own game engine against opponentId, trusted toward XP
+    @Transactional
+    public PlayerStats recordEngineResult(User user, String game, String result, double durationSeconds,
+            Long opponentId) {
+        return recordResult(user, game, 0, result, durationSeconds, opponentId, true);
+    }
+
+    private PlayerStats recordResult(User user, String game, int score, String result, double durationSeconds,
+            Long opponentId, boolean trusted) {
+        // Locking the user row first applies one player's concurrent submissions one after another
+        User locked = userRepository.lockById(user.getId()).orElseThrow();
+        PlayerStats player = new PlayerStats(locked, gameStatsRepository.findByUserId(locked.getId()));
+        int previousTotalXp = locked.getTotalXp();
+        String previousRankBadge = locked.getRankBadge();
+
+        GameStats stats = applyResult(player, game, score, result, durationSeconds, trusted);
+
+        // Inserts the row on a player's first result in a game, otherwise updates it in place
+        gameStatsRepository.save(stats);
+        userRepository.save(locked);
+
+        // Record Match History
+        Match match = new Match(locked, stats.getGame(), score, result);
+        match.setOpponentId(opponentId);
+        matchRepository.save(match);
+
+        // Everything else (feeds, achievements, ...) runs off the request thread, and only for committed results.
+        // The player's own reads stay on the primary until replicas have had time to catch up.
+        Runnable publish = () -> {
+            readYourWritesService.markWrite(locked.getUsername());
+            gameEventBus.publish(match, locked, stats, durationSeconds, previousTotalXp, previousRankBadge);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish.run();
+                }
+            });
+        } else {
+            publish.run();
+        }
+
+        return player;
+    }
+
+    // Pure stats/XP/rank update, kept free of persistence so it can be benchmarked on its own.
+    // Returns the game's row, the only one a result changes
+    public static GameStats applyResult(PlayerStats player, String game, int score, String result,
+            double durationSeconds, boolean trusted) {
+        String key = game.trim().toUpperCase();
+        GameStats stats = player.forGame(key);
+        // Unverified games report a score, but it is never trusted: it would top the per-game leaderboard
+        stats.record(VERIFIED_SCORE_GAMES.contains(key) ? score : 0, result, trusted);
+
+        // --- DYNAMIC RANKING POLICY ---
+        // TTT Win = 100 XP (engine-decided wins only)
+        // Snake Score = 1 XP per point (High Score, replay-verified)
+        // Play Time = 10 XP per hour
+        // Update PlayTime
+        User user = player.getUser();
+        double hoursToAdd = Math.max(0, durationSeconds) / 3600.0;
+        user.setPlayTime(user.getPlayTime() + hoursToAdd);
+
+        // Season XP: lifetime XP minus what earlier seasons already archived. Summed in a long and clamped,
+        // so no combination of stats can wrap it negative
+        long lifetimeXp = player.getTrustedWins("TICTACTOE") * 100L + (long) (user.getPlayTime() * 10);
+        for (String scored : VERIFIED_SCORE_GAMES) {
+            lifetimeXp += Math.max(0, player.getBestScore(scored));
+        }
+        int newTotalXp = (int) Math.max(0, Math.min(Integer.MAX_VALUE, lifetimeXp - user.getXpBase()));
+        user.setTotalXp(newTotalXp);
+
+        // Update Rank Badge based on XP
+        user.setRankBadge(rankBadgeFor(newTotalXp));
+        return stats;
+    }
+
+    public static String rankBadgeFor(int totalXp) {
+        if (totalXp < SILVER_XP) {
+            return "Bronze";
+        } else if (totalXp < GOLD_XP) {
+            return "Silver";
+        } else if (totalXp < PLATINUM_XP) {
+            return "Gold";
+        } else if (totalXp < DIAMOND_XP) {
+            return "Platinum";
+        }
+        return "Diamond";
+    }
+}
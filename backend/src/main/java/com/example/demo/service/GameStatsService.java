@@ -0,0 +1,65 @@
+package com.example.demo.service;
+
+import com.example.demo.model.GameStats;
+import com.example.demo.model.PlayerStats;
+import com.example.demo.model.User;
+import com.example.demo.repository.GameStatsRepository;
+import com.example.demo.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class GameStatsService {
+
+    @Autowired
+    private GameStatsRepository gameStatsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    public PlayerStats getPlayer(User user) {
+        return new PlayerStats(user, gameStatsRepository.findByUserId(user.getId()));
+    }
+
+    // Stats for a page of users in one query, in the order the users were given
+    public List<PlayerStats> getPlayers(List<User> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<GameStats>> byUser = new HashMap<>();
+        for (GameStats row : gameStatsRepository.findByUserIdIn(users.stream().map(User::getId).toList())) {
+            byUser.computeIfAbsent(row.getUserId(), id -> new ArrayList<>()).add(row);
+        }
+        List<PlayerStats> players = new ArrayList<>(users.size());
+        for (User user : users) {
+            players.add(new PlayerStats(user, byUser.getOrDefault(user.getId(), List.of())));
+        }
+        return players;
+    }
+
+    public List<PlayerStats> getTopByXp() {
+        return getPlayers(userRepository.findTop50ByOrderByTotalXpDesc());
+    }
+
+    // Top 50 in one game by high score, then wins
+    public List<PlayerStats> getTopByGame(String game) {
+        List<GameStats> rows = gameStatsRepository.findTop50ByGameOrderByBestScoreDescWinsDesc(game.toUpperCase());
+        Map<Long, User> users = new HashMap<>();
+        for (User user : userRepository.findAllById(rows.stream().map(GameStats::getUserId).toList())) {
+            users.put(user.getId(), user);
+        }
+        List<User> ordered = new ArrayList<>(rows.size());
+        for (GameStats row : rows) {
+            User user = users.get(row.getUserId());
+            if (user != null) {
+                ordered.add(user);
+            }
+        }
+        return getPlayers(ordered);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.service;
+
+import com.example.demo.event.GameResultSubmitted;
+import com.example.demo.event.GameResultSubscriber;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Broadcasts finished games to /topic/results, one STOMP message per bus batch rather than per result
+@Service
+public class LiveResultsFeed implements GameResultSubscriber {
+
+    private static final int MAX_MESSAGE_RESULTS = 100;
+
+    @Autowired
+    private SimpMessagingTemplate template;
+
+    // Only touched by this subscriber's bus thread
+    private List<Map<String, Object>> pending = new ArrayList<>();
+
+    @Override
+    public String getName() {
+        return "live-results";
+    }
+
+    @Override
+    public void onEvent(GameResultSubmitted event, boolean endOfBatch) {
+        pending.add(Map.of(
+                "username", event.getUsername(),
+                "game", event.getGame(),
+                "score", event.getScore(),
+                "result", event.getResult() != null ? event.getResult() : "COMPLETED",
+                "totalXp", event.getTotalXp(),
+                "rankBadge", event.getRankBadge()));
+        if (endOfBatch || pending.size() >= MAX_MESSAGE_RESULTS) {
+            template.convertAndSend("/topic/results", pending);
+            pending = new ArrayList<>();
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.MatchFoundDTO;
+import com.example.demo.event.MatchPairedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class MatchmakingService {
+
+    public static final Set<String> SUPPORTED_GAMES = Set.of("TICTACTOE", "SNAKE");
+
+    // Players are bucketed by XP; the acceptable distance grows by one bucket per WIDEN_INTERVAL
+    private static final int BUCKET_WIDTH_XP = 100;
+    private static final int BUCKET_COUNT = 1000;
+    private static final long WIDEN_INTERVAL_NANOS = 2_000_000_000L;
+    private static final int MAX_WINDOW_BUCKETS = 50;
+
+    @Autowired
+    private SimpMessagingTemplate template;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final Map<String, Ticket> queued = new ConcurrentHashMap<>();
+    private final Map<String, GameQueue> queues = new ConcurrentHashMap<>();
+
+    private final AtomicLong matchesMade = new AtomicLong();
+    private final AtomicLong totalWaitMillis = new AtomicLong();
+    private final AtomicLong maxWaitMillis = new AtomicLong();
+    private volatile long lastTickMicros;
+
+    public MatchmakingService() {
+        for (String game : SUPPORTED_GAMES) {
+            queues.put(game, new GameQueue(game));
+        }
+    }
+
+    public boolean enqueue(String username, String game, int totalXp) {
+        GameQueue queue = queues.get(game);
+        if (queue == null) {
+            return false;
+        }
+        Ticket ticket = new Ticket(username, totalXp);
+        if (queued.putIfAbsent(username, ticket) != null) {
+            return false; // already searching
+        }
+        queue.incoming.add(ticket);
+        queue.size.incrementAndGet();
+        return true;
+    }
+
+    public boolean cancel(String username) {
+        Ticket ticket = queued.get(username);
+        if (ticket == null) {
+            return false;
+        }
+        synchronized (ticket) {
+            if (ticket.matched) {
+                return false;
+            }
+            ticket.cancelled = true; // dropped from its bucket by the next tick that sees it
+            queued.remove(username, ticket);
+            return true;
+        }
+    }
+
+    public boolean isQueued(String username) {
+        return queued.containsKey(username);
+    }
+
+    @Scheduled(fixedRate = 250)
+    public void tick() {
+        long start = System.nanoTime();
+        List<Ticket[]> pairs = new ArrayList<>();
+        for (GameQueue queue : queues.values()) {
+            queue.pair(start, pairs);
+            for (Ticket[] pair : pairs) {
+                notifyPair(queue.game, pair[0], pair[1], start);
+            }
+            pairs.clear();
+        }
+        lastTickMicros = (System.nanoTime() - start) / 1_000;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Map<String, Integer> queueSizes = new LinkedHashMap<>();
+        for (GameQueue queue : queues.values()) {
+            queueSizes.put(queue.game, queue.size.get());
+        }
+        long matches = matchesMade.get();
+        stats.put("queued", queueSizes);
+        stats.put("matchesMade", matches);
+        stats.put("avgWaitMillis", matches > 0 ? totalWaitMillis.get() / (matches * 2) : 0);
+        stats.put("maxWaitMillis", maxWaitMillis.get());
+        stats.put("lastTickMicros", lastTickMicros);
+        return stats;
+    }
+
+    private void notifyPair(String game, Ticket first, Ticket second, long now) {
+        String matchId = UUID.randomUUID().toString();
+        long firstWait = (now - first.enqueuedAt) / 1_000_000;
+        long secondWait = (now - second.enqueuedAt) / 1_000_000;
+
+        matchesMade.incrementAndGet();
+        totalWaitMillis.addAndGet(firstWait + secondWait);
+        maxWaitMillis.accumulateAndGet(Math.max(firstWait, secondWait), Math::max);
+
+        template.convertAndSend("/topic/matchmaking/" + first.username,
+                new MatchFoundDTO(matchId, game, second.username, second.totalXp, firstWait));
+        template.convertAndSend("/topic/matchmaking/" + second.username,
+                new MatchFoundDTO(matchId, game, first.username, first.totalXp, secondWait));
+        eventPublisher.publishEvent(new MatchPairedEvent(matchId, game, first.username, second.username));
+    }
+
+    private class GameQueue {
+        private final String game;
+        private final ConcurrentLinkedQueue<Ticket> incoming = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        // Only touched by the tick thread
+        @SuppressWarnings("unchecked")
+        private final ArrayDeque<Ticket>[] buckets = new ArrayDeque[BUCKET_COUNT];
+
+        private GameQueue(String game) {
+            this.game = game;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                buckets[i] = new ArrayDeque<>();
+            }
+        }
+
+        // Each bucket is left with at most one waiting ticket, so a tick costs O(queued + buckets * window)
+        private void pair(long now, List<Ticket[]> pairs) {
+            Ticket ticket;
+            while ((ticket = incoming.poll()) != null) {
+                buckets[bucketOf(ticket.totalXp)].addLast(ticket);
+            }
+
+            for (int b = 0; b < BUCKET_COUNT; b++) {
+                ArrayDeque<Ticket> bucket = buckets[b];
+                while (true) {
+                    Ticket first = pollLive(bucket);
+                    if (first == null) {
+                        break;
+                    }
+                    Ticket second = pollLive(bucket);
+                    if (second == null) {
+                        second = findAbove(b, window(first, now), now);
+                    }
+                    if (second == null) {
+                        bucket.addFirst(first);
+                        break;
+                    }
+                    if (claim(first, second)) {
+                        pairs.add(new Ticket[] { first, second });
+                    } else {
+                        // One side cancelled in the meantime; the other keeps its place
+                        requeue(first);
+                        requeue(second);
+                    }
+                }
+            }
+        }
+
+        private Ticket findAbove(int bucket, int window, long now) {
+            int last = Math.min(BUCKET_COUNT - 1, bucket + window);
+            for (int b = bucket + 1; b <= last; b++) {
+                Ticket candidate = peekLive(buckets[b]);
+                // Both players must already accept this skill gap
+                if (candidate != null && window(candidate, now) >= b - bucket) {
+                    return buckets[b].pollFirst();
+                }
+            }
+            return null;
+        }
+
+        private Ticket pollLive(ArrayDeque<Ticket> bucket) {
+            Ticket ticket;
+            while ((ticket = bucket.pollFirst()) != null) {
+                if (!ticket.cancelled) {
+                    return ticket;
+                }
+                size.decrementAndGet();
+            }
+            return null;
+        }
+
+        private Ticket peekLive(ArrayDeque<Ticket> bucket) {
+            Ticket ticket;
+            while ((ticket = bucket.peekFirst()) != null && ticket.cancelled) {
+                bucket.pollFirst();
+                size.decrementAndGet();
+            }
+            return ticket;
+        }
+
+        // The tick thread is the only one locking two tickets, so this cannot deadlock with cancel()
+        private boolean claim(Ticket first, Ticket second) {
+            synchronized (first) {
+                synchronized (second) {
+                    if (first.cancelled || second.cancelled) {
+                        return false;
+                    }
+                    first.matched = true;
+                    second.matched = true;
+                }
+            }
+            queued.remove(first.username, first);
+            queued.remove(second.username, second);
+            size.addAndGet(-2);
+            return true;
+        }
+
+        private void requeue(Ticket ticket) {
+            if (ticket.cancelled) {
+                size.decrementAndGet();
+            } else {
+                buckets[bucketOf(ticket.totalXp)].addFirst(ticket);
+            }
+        }
+    }
+
+    private static int bucketOf(int totalXp) {
+        return Math.min(BUCKET_COUNT - 1, Math.max(0, totalXp / BUCKET_WIDTH_XP));
+    }
+
+    private static int window(Ticket ticket, long now) {
+        return (int) Math.min(MAX_WINDOW_BUCKETS, (now - ticket.enqueuedAt) / WIDEN_INTERVAL_NANOS);
+    }
+
+    private static class Ticket {
+        private final String username;
+        private final int totalXp;
+        private final long enqueuedAt = System.nanoTime();
+        private boolean cancelled;
+        private boolean matched;
+
+        private Ticket(String username, int totalXp) {
+            this.username = username;
+            this.totalXp = totalXp;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.demo.service;
+
+import com.example.demo.event.PresenceEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class PresenceService {
+
+    // Sessions that miss heartbeats for this long are treated as disconnected
+    private static final long SESSION_TIMEOUT_MS = 60_000;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final Map<String, SessionPresence> sessions = new ConcurrentHashMap<>();
+    private final Map<String, UserPresence> users = new ConcurrentHashMap<>();
+    private final Map<String, Integer> roomCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger onlineUsers = new AtomicInteger();
+
+    // A session is only ever added to or removed from sessions inside users.compute for its username, so a
+    // disconnect racing a join either sees the session already counted or does not see it at all
+    public void join(String sessionId, String username, String roomId) {
+        List<PresenceEvent> events = new ArrayList<>();
+        SessionPresence[] previous = new SessionPresence[1];
+
+        users.compute(username, (name, user) -> {
+            previous[0] = sessions.put(sessionId, new SessionPresence(username, roomId));
+            boolean newSession = previous[0] == null || !previous[0].username.equals(username);
+            if (user == null) {
+                user = new UserPresence();
+                onlineUsers.incrementAndGet();
+                events.add(new PresenceEvent(PresenceEvent.Type.ONLINE, name, null));
+            }
+            if (newSession) {
+                user.sessions++;
+                enterRoom(name, user, roomId, events);
+            } else if (!roomId.equals(previous[0].roomId)) {
+                leaveRoom(name, user, previous[0].roomId, events);
+                enterRoom(name, user, roomId, events);
+            }
+            return user;
+        });
+
+        // Same socket re-announcing as someone else: release the old identity too
+        SessionPresence replaced = previous[0];
+        if (replaced != null && !replaced.username.equals(username)) {
+            users.computeIfPresent(replaced.username, (name, user) -> release(name, user, replaced.roomId, events));
+        }
+
+        publish(events);
+    }
+
+    public void disconnect(String sessionId) {
+        SessionPresence session = sessions.get(sessionId);
+        if (session != null) {
+            remove(sessionId, session);
+        }
+    }
+
+    // Removes the session and releases its user in one step, unless it was replaced or removed meanwhile
+    private void remove(String sessionId, SessionPresence session) {
+        List<PresenceEvent> events = new ArrayList<>();
+        users.computeIfPresent(session.username, (name, user) -> sessions.remove(sessionId, session)
+                ? release(name, user, session.roomId, events)
+                : user);
+        publish(events);
+    }
+
+    public void touch(String sessionId) {
+        SessionPresence session = sessions.get(sessionId);
+        if (session != null) {
+            session.lastSeen = System.currentTimeMillis();
+        }
+    }
+
+    @Scheduled(fixedRate = 15_000)
+    public void expireStaleSessions() {
+        long cutoff = System.currentTimeMillis() - SESSION_TIMEOUT_MS;
+        for (Map.Entry<String, SessionPresence> entry : sessions.entrySet()) {
+            SessionPresence session = entry.getValue();
+            if (session.lastSeen < cutoff) {
+                remove(entry.getKey(), session);
+            }
+        }
+    }
+
+    public int getOnlineCount() {
+        return onlineUsers.get();
+    }
+
+    public int getRoomOnlineCount(String roomId) {
+        return roomCounts.getOrDefault(roomId, 0);
+    }
+
+    public boolean isOnline(String username) {
+        return users.containsKey(username);
+    }
+
+    public Set<String> getOnlineUsers() {
+        return users.keySet();
+    }
+
+    // Rooms the user currently has a session in; empty if offline. Copied under the key's lock
+    public Set<String> getRooms(String username) {
+        Set<String> rooms = new HashSet<>();
+        users.computeIfPresent(username, (name, user) -> {
+            rooms.addAll(user.rooms.keySet());
+            return user;
+        });
+        return rooms;
+    }
+
+    // Called inside users.compute, so per-user state is only ever touched under that key's lock
+    private UserPresence release(String username, UserPresence user, String roomId, List<PresenceEvent> events) {
+        user.sessions--;
+        leaveRoom(username, user, roomId, events);
+        if (user.sessions > 0) {
+            return user;
+        }
+        onlineUsers.decrementAndGet();
+        events.add(new PresenceEvent(PresenceEvent.Type.OFFLINE, username, null));
+        return null;
+    }
+
+    private void enterRoom(String username, UserPresence user, String roomId, List<PresenceEvent> events) {
+        if (user.rooms.merge(roomId, 1, Integer::sum) == 1) {
+            roomCounts.merge(roomId, 1, Integer::sum);
+            events.add(new PresenceEvent(PresenceEvent.Type.JOINED, username, roomId));
+        }
+    }
+
+    private void leaveRoom(String username, UserPresence user, String roomId, List<PresenceEvent> events) {
+        Integer count = user.rooms.get(roomId);
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            user.rooms.put(roomId, count - 1);
+            return;
+        }
+        user.rooms.remove(roomId);
+        roomCounts.computeIfPresent(roomId, (id, c) -> c == 1 ? null : c - 1);
+        events.add(new PresenceEvent(PresenceEvent.Type.LEFT, username, roomId));
+    }
+
+    private void publish(List<PresenceEvent> events) {
+        for (PresenceEvent event : events) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    private static class SessionPresence {
+        private final String username;
+        private final String roomId;
+        private volatile long lastSeen = System.currentTimeMillis();
+
+        private SessionPresence(String username, String roomId) {
+            this.username = username;
+            this.roomId = roomId;
+        }
+    }
+
+    private static class UserPresence {
+        private int sessions;
+        private final Map<String, Integer> rooms = new HashMap<>(4); // roomId -> session refcount
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.demo.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+public class RateLimitService {
+
+    // Buckets untouched for this long are dropped; a returning client just starts full again
+    private static final long IDLE_EVICT_NANOS = 5 * 60 * 1_000_000_000L;
+
+    private final Limiter chatLimiter;
+    private final Limiter chatClientLimiter;
+    private final Limiter submitLimiter;
+
+    public RateLimitService(@Value("${ratelimit.chat.capacity:10}") int chatCapacity,
+            @Value("${ratelimit.chat.per-second:5}") double chatPerSecond,
+            @Value("${ratelimit.chat.client-capacity:30}") int chatClientCapacity,
+            @Value("${ratelimit.chat.client-per-second:15}") double chatClientPerSecond,
+            @Value("${ratelimit.submit.capacity:5}") int submitCapacity,
+            @Value("${ratelimit.submit.per-second:0.5}") double submitPerSecond) {
+        this.chatLimiter = new Limiter(chatCapacity, chatPerSecond);
+        this.chatClientLimiter = new Limiter(chatClientCapacity, chatClientPerSecond);
+        this.submitLimiter = new Limiter(submitCapacity, submitPerSecond);
+    }
+
+    // Keyed by STOMP session id and by the address the session connected from, so opening more sessions does
+    // not multiply the allowance; a message needs a token from both
+    public boolean tryChatMessage(String sessionId, String clientKey) {
+        return chatLimiter.tryAcquire(sessionId) && (clientKey == null || chatClientLimiter.tryAcquire(clientKey));
+    }
+
+    // Keyed by client address
+    public boolean tryGameSubmit(String clientKey) {
+        return submitLimiter.tryAcquire(clientKey);
+    }
+
+    @Scheduled(fixedRate = 60_000)
+    public void evictIdleBuckets() {
+        long cutoff = System.nanoTime() - IDLE_EVICT_NANOS;
+        chatLimiter.evictIdle(cutoff);
+        chatClientLimiter.evictIdle(cutoff);
+        submitLimiter.evictIdle(cutoff);
+    }
+
+    public Map<String, Map<String, Long>> getStats() {
+        Map<String, Map<String, Long>> stats = new LinkedHashMap<>();
+        stats.put("chat", chatLimiter.stats());
+        stats.put("chatClient", chatClientLimiter.stats());
+        stats.put("submit", submitLimiter.stats());
+        return stats;
+    }
+
+    private static class Limiter {
+        private final int capacity;
+        private final double tokensPerNano;
+        // ConcurrentHashMap locks per bin, so independent keys never contend with each other
+        private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final LongAdder allowed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        private Limiter(int capacity, double tokensPerSecond) {
+            this.capacity = capacity;
+            this.tokensPerNano = tokensPerSecond / 1_000_000_000.0;
+        }
+
+        private boolean tryAcquire(String key) {
+            long now = System.nanoTime();
+            // get() first so the steady state allocates nothing
+            TokenBucket bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, now));
+            }
+            if (bucket.tryAcquire(now, capacity, tokensPerNano)) {
+                allowed.increment();
+                return true;
+            }
+            rejected.increment();
+            return false;
+        }
+
+        private void evictIdle(long cutoff) {
+            buckets.values().removeIf(bucket -> bucket.lastAccess < cutoff);
+        }
+
+        private Map<String, Long> stats() {
+            Map<String, Long> stats = new LinkedHashMap<>();
+            stats.put("allowed", allowed.sum());
+            stats.put("rejected", rejected.sum());
+            stats.put("buckets", (long) buckets.size());
+            return stats;
+        }
+    }
+
+    private static class TokenBucket {
+        private double tokens;
+        private volatile long lastAccess;
+
+        private TokenBucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.lastAccess = now;
+        }
+
+        private synchronized boolean tryAcquire(long now, int capacity, double tokensPerNano) {
+            long elapsed = now - lastAccess;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+                lastAccess = now;
+            }
+            if (tokens >= 1.0) {
+                tokens -= 1.0;
+                return true;
+            }
+            return false;
+        }
+    }
+}
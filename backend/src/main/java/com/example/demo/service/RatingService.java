@@ -0,0 +1,625 @@
+package com.example.demo.service;
+
+import com.example.demo.event.GameResultSubmitted;
+import com.example.demo.event.GameResultSubscriber;
+import com.example.demo.model.PlayerRating;
+import com.example.demo.repository.MatchRepository;
+import com.example.demo.repository.PlayerRatingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class RatingService implements GameResultSubscriber {
+
+    // Snake is single-player with no opponent to be rated against, so it keeps its score-based ranking
+    public static final Set<String> RATED_GAMES = Set.of("TICTACTOE");
+
+    // Solo TicTacToe results are games against the built-in AI, treated as a fixed-strength opponent
+    private static final double AI_RATING = 1500;
+    private static final double AI_DEVIATION = 60;
+
+    // Glicko-2 constants: scale between the 1500-centred and internal scales, volatility constraint,
+    // convergence tolerance, and a floor that keeps established players responsive
+    private static final double SCALE = 173.7178;
+    private static final double TAU = 0.5;
+    private static final double EPSILON = 1e-6;
+    private static final double MIN_DEVIATION = 30;
+
+    private static final int REPLAY_CHUNK = 50_000;
+    private static final int WRITE_CHUNK = 5_000;
+    private static final int SEQUENTIAL_THRESHOLD = 20_000;
+    private static final int CACHE_SIZE = 10_000;
+    // Consecutive failed flushes after which the unsaved ratings are given up, so dirty entries (which the
+    // cache never evicts) cannot pile up for as long as the database is unavailable
+    private static final int MAX_FLUSH_ATTEMPTS = 3;
+
+    @Autowired
+    private PlayerRatingRepository ratingRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    // The shared @Async executor, virtual threads when that mode is on
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
+    // Held by the bus thread per event and by a recompute while it hands its results over
+    private final ReentrantLock handover = new ReentrantLock();
+    private final AtomicBoolean recomputeRunning = new AtomicBoolean();
+    private volatile boolean recomputing;
+    // Per game, the last match id a recompute already accounted for
+    private final Map<String, Long> replayedUpTo = new ConcurrentHashMap<>();
+    private volatile Map<String, Object> lastRecompute = Map.of();
+
+    // Only touched under handover
+    // Results that arrived while a recompute ran, rated after all if that recompute fails
+    private final List<SkippedResult> skipped = new ArrayList<>();
+    private final Set<PlayerRating> dirty = Collections.newSetFromMap(new IdentityHashMap<>());
+    private int failedFlushes;
+    private final LongAdder flushFailures = new LongAdder();
+    private final LongAdder rowsDropped = new LongAdder();
+    private final Map<String, PlayerRating> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PlayerRating> eldest) {
+            return size() > CACHE_SIZE && !dirty.contains(eldest.getValue());
+        }
+    };
+
+    @Override
+    public String getName() {
+        return "ratings";
+    }
+
+    @Override
+    public void onEvent(GameResultSubmitted event, boolean endOfBatch) {
+        handover.lock();
+        try {
+            if (RATED_GAMES.contains(event.getGame()) && event.getUserId() != null
+                    && event.getMatchId() > replayedUpTo.getOrDefault(event.getGame(), 0L)) {
+                if (recomputing) {
+                    skipped.add(new SkippedResult(event.getGame(), event.getUserId(), event.getOpponentId(),
+                            event.getResult()));
+                } else {
+                    rate(event.getGame(), event.getUserId(), event.getOpponentId(), event.getResult());
+                }
+            }
+            if (endOfBatch) {
+                flush();
+            }
+        } finally {
+            handover.unlock();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("flushFailures", flushFailures.sum());
+        stats.put("rowsDropped", rowsDropped.sum());
+        return stats;
+    }
+
+    public Map<String, Object> getLastRecompute() {
+        Map<String, Object> status = new LinkedHashMap<>(lastRecompute);
+        status.put("running", recomputeRunning.get());
+        return status;
+    }
+
+    // Rebuilds every rating of a game from the full match history; false if one is already running
+    public boolean startRecompute(String game) {
+        if (!RATED_GAMES.contains(game) || !recomputeRunning.compareAndSet(false, true)) {
+            return false;
+        }
+        taskExecutor.execute(() -> {
+            try {
+                lastRecompute = recompute(game);
+                System.out.println("Rating recompute finished: " + lastRecompute);
+            } catch (RuntimeException e) {
+                lastRecompute = Map.of("game", game, "error", String.valueOf(e.getMessage()));
+                System.out.println("Rating recompute failed: " + e.getMessage());
+            } finally {
+                recomputeRunning.set(false);
+            }
+        });
+        return true;
+    }
+
+    private void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<PlayerRating> rows = new ArrayList<>(dirty);
+        List<PlayerRating> created = rows.stream().filter(rating -> rating.getId() == null).toList();
+        try {
+            ratingRepository.saveBatch(rows);
+            dirty.clear();
+            failedFlushes = 0;
+        } catch (RuntimeException e) {
+            flushFailures.increment();
+            System.out.println("Rating flush failed: " + e.getMessage());
+            created.forEach(rating -> rating.setId(null)); // rolled back with the rest
+            if (++failedFlushes >= MAX_FLUSH_ATTEMPTS) {
+                // The cached copies go too, so these players are reloaded as stored
+                rowsDropped.add(dirty.size());
+                cache.values().removeIf(dirty::contains);
+                dirty.clear();
+                failedFlushes = 0;
+            }
+        }
+    }
+
+    private void rate(String game, Long userId, Long opponentId, String result) {
+        double score = outcome(result);
+        if (score < 0) {
+            return;
+        }
+        double[] player = new double[3];
+        if (opponentId == null) {
+            PlayerRating rating = load(userId, game);
+            read(rating, player);
+            update(player, 0, AI_RATING, AI_DEVIATION, score);
+            write(rating, player, 1);
+        } else if (userId < opponentId) {
+            // Both rows of a head-to-head match describe the same game; only the lower user id's row is rated,
+            // updating both players from their pre-match ratings
+            PlayerRating first = load(userId, game);
+            PlayerRating second = load(opponentId, game);
+            double[] opponent = new double[3];
+            read(first, player);
+            read(second, opponent);
+            update(player, 0, second.getRating(), second.getDeviation(), score);
+            update(opponent, 0, first.getRating(), first.getDeviation(), 1 - score);
+            write(first, player, 1);
+            write(second, opponent, 1);
+        }
+    }
+
+    private PlayerRating load(Long userId, String game) {
+        String key = userId + ":" + game;
+        PlayerRating rating = cache.get(key);
+        if (rating == null) {
+            rating = ratingRepository.findByUserIdAndGame(userId, game).orElseGet(() -> new PlayerRating(userId, game));
+            cache.put(key, rating);
+        }
+        return rating;
+    }
+
+    private void write(PlayerRating rating, double[] state, long games) {
+        rating.setRating(state[0]);
+        rating.setDeviation(state[1]);
+        rating.setVolatility(state[2]);
+        rating.setGamesRated(rating.getGamesRated() + games);
+        rating.setUpdatedAt(LocalDateTime.now());
+        dirty.add(rating);
+    }
+
+    private static void read(PlayerRating rating, double[] state) {
+        state[0] = rating.getRating();
+        state[1] = rating.getDeviation();
+        state[2] = rating.getVolatility();
+    }
+
+    // 1 win, 0.5 draw, 0 loss, -1 for results that say nothing about skill
+    private static double outcome(String result) {
+        if ("WIN".equalsIgnoreCase(result)) {
+            return 1;
+        }
+        if ("DRAW".equalsIgnoreCase(result)) {
+            return 0.5;
+        }
+        if ("LOSS".equalsIgnoreCase(result)) {
+            return 0;
+        }
+        return -1;
+    }
+
+    // Glicko-2 update for a rating period holding a single game. states holds (rating, deviation, volatility)
+    // triples; the one at offset is updated in place.
+    static void update(double[] states, int offset, double opponentRating, double opponentDeviation, double score) {
+        double mu = (states[offset] - 1500) / SCALE;
+        double phi = states[offset + 1] / SCALE;
+        double sigma = states[offset + 2];
+        double muJ = (opponentRating - 1500) / SCALE;
+        double phiJ = opponentDeviation / SCALE;
+
+        double g = 1 / Math.sqrt(1 + 3 * phiJ * phiJ / (Math.PI * Math.PI));
+        double expected = 1 / (1 + Math.exp(-g * (mu - muJ)));
+        double v = 1 / (g * g * expected * (1 - expected));
+        double delta = v * g * (score - expected);
+
+        // New volatility by the Illinois method
+        double a = Math.log(sigma * sigma);
+        double phi2 = phi * phi;
+        double bigA = a;
+        double bigB;
+        if (delta * delta > phi2 + v) {
+            bigB = Math.log(delta * delta - phi2 - v);
+        } else {
+            int k = 1;
+            while (volatilityFunction(a - k * TAU, delta, phi2, v, a) < 0) {
+                k++;
+            }
+            bigB = a - k * TAU;
+        }
+        double fA = volatilityFunction(bigA, delta, phi2, v, a);
+        double fB = volatilityFunction(bigB, delta, phi2, v, a);
+        while (Math.abs(bigB - bigA) > EPSILON) {
+            double bigC = bigA + (bigA - bigB) * fA / (fB - fA);
+            double fC = volatilityFunction(bigC, delta, phi2, v, a);
+            if (fC * fB <= 0) {
+                bigA = bigB;
+                fA = fB;
+            } else {
+                fA /= 2;
+            }
+            bigB = bigC;
+            fB = fC;
+        }
+        double newSigma = Math.exp(bigA / 2);
+
+        double phiStar = Math.sqrt(phi2 + newSigma * newSigma);
+        double newPhi = 1 / Math.sqrt(1 / (phiStar * phiStar) + 1 / v);
+        double newMu = mu + newPhi * newPhi * g * (score - expected);
+
+        states[offset] = SCALE * newMu + 1500;
+        states[offset + 1] = Math.max(MIN_DEVIATION, SCALE * newPhi);
+        states[offset + 2] = newSigma;
+    }
+
+    private static double volatilityFunction(double x, double delta, double phi2, double v, double a) {
+        double ex = Math.exp(x);
+        double denominator = phi2 + v + ex;
+        return ex * (delta * delta - phi2 - v - ex) / (2 * denominator * denominator) - (x - a) / (TAU * TAU);
+    }
+
+    private Map<String, Object> recompute(String game) {
+        handover.lock();
+        try {
+            // Ratings the bus has not written yet go out first; from here on it only sets results aside
+            flush();
+            recomputing = true;
+        } finally {
+            handover.unlock();
+        }
+        try {
+            return replayAndSwap(game);
+        } catch (RuntimeException e) {
+            catchUp();
+            throw e;
+        }
+    }
+
+    private Map<String, Object> replayAndSwap(String game) {
+        long start = System.nanoTime();
+
+        Replay replay = new Replay();
+        long lastId = replay.load(matchRepository, game, 0);
+        long loaded = System.nanoTime();
+
+        int components = replay.partition();
+        ForkJoinPool.commonPool().invoke(new ReplayTask(replay, 0, components));
+        long replayed = System.nanoTime();
+
+        // The bulk write runs outside handover, so the bus keeps draining the ring meanwhile
+        long[] ratingIds = new long[replay.players];
+        for (Object[] row : ratingRepository.findIdsByGame(game)) {
+            Integer p = replay.playerIndex.get((Long) row[0]);
+            if (p != null) {
+                ratingIds[p] = (Long) row[1];
+            }
+        }
+        int written = writeAll(game, replay, ratingIds, null);
+        long bulkWritten = System.nanoTime();
+
+        int tail;
+        handover.lock();
+        try {
+            // Results committed since the bulk load; few enough to replay in order on this thread, and only
+            // the players they touched are written again
+            int before = replay.count;
+            lastId = replay.load(matchRepository, game, lastId);
+            tail = replay.count - before;
+            boolean[] touched = new boolean[replay.players];
+            for (int m = before; m < replay.count; m++) {
+                replay.apply(m);
+                touched[replay.player[m]] = true;
+                if (replay.opponent[m] >= 0) {
+                    touched[replay.opponent[m]] = true;
+                }
+            }
+            written += writeAll(game, replay, Arrays.copyOf(ratingIds, replay.players), touched);
+            replayedUpTo.put(game, lastId);
+            cache.clear();
+            dirty.clear();
+            skipped.clear();
+            recomputing = false;
+        } finally {
+            handover.unlock();
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("game", game);
+        stats.put("matches", replay.count);
+        stats.put("tailMatches", tail);
+        stats.put("players", replay.players);
+        stats.put("components", components);
+        stats.put("largestComponent", replay.largestComponent);
+        stats.put("loadMillis", (loaded - start) / 1_000_000);
+        stats.put("replayMillis", (replayed - loaded) / 1_000_000);
+        stats.put("writeMillis", (bulkWritten - replayed) / 1_000_000);
+        stats.put("handoverMillis", (System.nanoTime() - bulkWritten) / 1_000_000);
+        stats.put("ratingsWritten", written);
+        return stats;
+    }
+
+    // Nothing was swapped in, so the results set aside during the recompute are rated on top of the stored
+    // ratings, as if it had never started. The cache is dropped because a failed bulk write may have changed rows.
+    private void catchUp() {
+        handover.lock();
+        try {
+            cache.clear();
+            dirty.clear();
+            for (SkippedResult result : skipped) {
+                rate(result.game, result.userId, result.opponentId, result.result);
+            }
+            flush();
+        } catch (RuntimeException e) {
+            System.out.println("Rating catch-up after a failed recompute stopped: " + e.getMessage());
+        } finally {
+            skipped.clear();
+            recomputing = false;
+            handover.unlock();
+        }
+    }
+
+    // Writes the replayed state of every player, or only of those marked in `only`, in batched chunks; ids of
+    // inserted rows are recorded in ratingIds
+    private int writeAll(String game, Replay replay, long[] ratingIds, boolean[] only) {
+        LocalDateTime now = LocalDateTime.now();
+        List<PlayerRating> chunk = new ArrayList<>(WRITE_CHUNK);
+        int[] chunkPlayers = new int[WRITE_CHUNK];
+        int written = 0;
+        for (int p = 0; p < replay.players; p++) {
+            if (only != null && !only[p]) {
+                continue;
+            }
+            PlayerRating rating = new PlayerRating(replay.userIds[p], game);
+            if (ratingIds[p] != 0) {
+                rating.setId(ratingIds[p]);
+            }
+            rating.setRating(replay.states[p * 3]);
+            rating.setDeviation(replay.states[p * 3 + 1]);
+            rating.setVolatility(replay.states[p * 3 + 2]);
+            rating.setGamesRated(replay.gamesRated[p]);
+            rating.setUpdatedAt(now);
+            chunkPlayers[chunk.size()] = p;
+            chunk.add(rating);
+            if (chunk.size() == WRITE_CHUNK) {
+                written += writeChunk(chunk, chunkPlayers, ratingIds);
+            }
+        }
+        return written + writeChunk(chunk, chunkPlayers, ratingIds);
+    }
+
+    private int writeChunk(List<PlayerRating> chunk, int[] chunkPlayers, long[] ratingIds) {
+        int size = chunk.size();
+        if (size > 0) {
+            ratingRepository.saveBatch(chunk);
+            for (int i = 0; i < size; i++) {
+                ratingIds[chunkPlayers[i]] = chunk.get(i).getId();
+            }
+            chunk.clear();
+        }
+        return size;
+    }
+
+    private static class SkippedResult {
+        private final String game;
+        private final Long userId;
+        private final Long opponentId;
+        private final String result;
+
+        private SkippedResult(String game, Long userId, Long opponentId, String result) {
+            this.game = game;
+            this.userId = userId;
+            this.opponentId = opponentId;
+            this.result = result;
+        }
+    }
+
+    // Match history as flat arrays in chronological order, plus the player partitions used to replay it
+    private static class Replay {
+        private final Map<Long, Integer> playerIndex = new HashMap<>();
+        private long[] userIds = new long[1024];
+        private int players;
+
+        private int[] player = new int[1 << 16];
+        private int[] opponent = new int[1 << 16]; // -1 for games against the AI
+        private byte[] outcome = new byte[1 << 16]; // score * 2
+        private int count;
+
+        private double[] states;
+        private long[] gamesRated;
+
+        // Match indices grouped by component, chronological within each component
+        private int[] order;
+        private int[] componentStart;
+        private int largestComponent;
+
+        private long load(MatchRepository matchRepository, String game, long afterId) {
+            while (true) {
+                List<Object[]> rows = matchRepository.findReplayChunk(game, afterId, PageRequest.of(0, REPLAY_CHUNK));
+                for (Object[] row : rows) {
+                    afterId = (Long) row[0];
+                    long userId = (Long) row[1];
+                    Long opponentId = (Long) row[2];
+                    double score = outcome((String) row[3]);
+                    if (score < 0 || (opponentId != null && userId > opponentId)) {
+                        continue; // not rated, or the other half of a head-to-head match
+                    }
+                    add(indexOf(userId), opponentId != null ? indexOf(opponentId) : -1, (byte) (score * 2));
+                }
+                if (rows.size() < REPLAY_CHUNK) {
+                    return afterId;
+                }
+            }
+        }
+
+        private int indexOf(long userId) {
+            Integer index = playerIndex.get(userId);
+            if (index == null) {
+                index = players++;
+                playerIndex.put(userId, index);
+                if (players > userIds.length) {
+                    userIds = Arrays.copyOf(userIds, userIds.length * 2);
+                }
+                userIds[index] = userId;
+                if (states != null) {
+                    ensureStates();
+                }
+            }
+            return index;
+        }
+
+        private void add(int p, int o, byte score) {
+            if (count == player.length) {
+                player = Arrays.copyOf(player, count * 2);
+                opponent = Arrays.copyOf(opponent, count * 2);
+                outcome = Arrays.copyOf(outcome, count * 2);
+            }
+            player[count] = p;
+            opponent[count] = o;
+            outcome[count] = score;
+            count++;
+        }
+
+        // Union-find over head-to-head pairings: matches in different components never share a player,
+        // so components can be replayed in parallel while staying chronological inside each one
+        private int partition() {
+            ensureStates();
+            int[] parent = new int[players];
+            for (int p = 0; p < players; p++) {
+                parent[p] = p;
+            }
+            for (int m = 0; m < count; m++) {
+                if (opponent[m] >= 0) {
+                    int a = find(parent, player[m]);
+                    int b = find(parent, opponent[m]);
+                    if (a != b) {
+                        parent[a] = b;
+                    }
+                }
+            }
+
+            int[] componentOf = new int[players];
+            Arrays.fill(componentOf, -1);
+            int components = 0;
+            int[] sizes = new int[players + 1];
+            int[] matchComponent = new int[count];
+            for (int m = 0; m < count; m++) {
+                int root = find(parent, player[m]);
+                if (componentOf[root] < 0) {
+                    componentOf[root] = components++;
+                }
+                matchComponent[m] = componentOf[root];
+                sizes[matchComponent[m]]++;
+            }
+
+            componentStart = new int[components + 1];
+            for (int c = 0; c < components; c++) {
+                componentStart[c + 1] = componentStart[c] + sizes[c];
+                largestComponent = Math.max(largestComponent, sizes[c]);
+            }
+            int[] fill = Arrays.copyOf(componentStart, components);
+            order = new int[count];
+            for (int m = 0; m < count; m++) {
+                order[fill[matchComponent[m]]++] = m;
+            }
+            return components;
+        }
+
+        private static int find(int[] parent, int p) {
+            while (parent[p] != p) {
+                parent[p] = parent[parent[p]];
+                p = parent[p];
+            }
+            return p;
+        }
+
+        private void ensureStates() {
+            int size = gamesRated == null ? 0 : gamesRated.length;
+            if (players <= size && states != null) {
+                return;
+            }
+            int newSize = Math.max(players, size * 2);
+            states = states == null ? new double[newSize * 3] : Arrays.copyOf(states, newSize * 3);
+            gamesRated = gamesRated == null ? new long[newSize] : Arrays.copyOf(gamesRated, newSize);
+            for (int p = size; p < newSize; p++) {
+                states[p * 3] = PlayerRating.DEFAULT_RATING;
+                states[p * 3 + 1] = PlayerRating.DEFAULT_DEVIATION;
+                states[p * 3 + 2] = PlayerRating.DEFAULT_VOLATILITY;
+            }
+        }
+
+        private void apply(int m) {
+            int p = player[m] * 3;
+            double score = outcome[m] / 2.0;
+            if (opponent[m] < 0) {
+                update(states, p, AI_RATING, AI_DEVIATION, score);
+            } else {
+                int o = opponent[m] * 3;
+                double rating = states[p];
+                double deviation = states[p + 1];
+                update(states, p, states[o], states[o + 1], score);
+                update(states, o, rating, deviation, 1 - score);
+                gamesRated[opponent[m]]++;
+            }
+            gamesRated[player[m]]++;
+        }
+    }
+
+    private static class ReplayTask extends RecursiveAction {
+        private final Replay replay;
+        private final int from;
+        private final int to;
+
+        private ReplayTask(Replay replay, int from, int to) {
+            this.replay = replay;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int matches = replay.componentStart[to] - replay.componentStart[from];
+            if (to - from == 1 || matches <= SEQUENTIAL_THRESHOLD) {
+                for (int i = replay.componentStart[from]; i < replay.componentStart[to]; i++) {
+                    replay.apply(replay.order[i]);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ReplayTask(replay, from, mid), new ReplayTask(replay, mid, to));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demo.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Players who just wrote are served from the primary for a while, so they never see their own result
+// go missing on a lagging replica. The window only needs to outlast normal replication lag.
+@Service
+public class ReadYourWritesService {
+
+    private final ConcurrentHashMap<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesService(@Value("${db.read-your-writes.window-ms:10000}") long windowMs) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+    }
+
+    public void markWrite(String username) {
+        if (username != null) {
+            stickyUntil.put(username, System.nanoTime() + windowNanos);
+        }
+    }
+
+    public boolean isSticky(String username) {
+        if (username == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(username);
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    @Scheduled(fixedRate = 60_000)
+    public void evictExpired() {
+        long now = System.nanoTime();
+        stickyUntil.values().removeIf(until -> until - now <= 0);
+    }
+}
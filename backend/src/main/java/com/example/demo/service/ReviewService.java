@@ -0,0 +1,106 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ReviewPageDTO;
+import com.example.demo.event.CatalogChangedEvent;
+import com.example.demo.model.Review;
+import com.example.demo.repository.GameRepository;
+import com.example.demo.repository.ReviewRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class ReviewService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Sorts before every real review, so the first page needs no special query
+    private static final int START_RATING = 6;
+    private static final LocalDateTime START_CREATED_AT = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // The review and the game's aggregates commit together or not at all
+    @Transactional
+    public Optional<Review> addReview(Long gameId, Review review) {
+        if (gameRepository.addRating(gameId, review.getRating()) == 0) {
+            return Optional.empty(); // no such game
+        }
+        review.setGameId(gameId);
+        eventPublisher.publishEvent(new CatalogChangedEvent(gameId));
+        // Server-owned and at the precision the database keeps, so cursors compare exactly
+        review.setCreatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        return Optional.of(reviewRepository.save(review));
+    }
+
+    // sort is "newest" or "rating"; a star filter always pages newest first within that rating.
+    // Throws IllegalArgumentException for a malformed cursor.
+    public ReviewPageDTO getReviews(Long gameId, String sort, Integer stars, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(MAX_PAGE_SIZE, limit));
+        int rating = START_RATING;
+        LocalDateTime createdAt = START_CREATED_AT;
+        long id = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] parts = decode(cursor);
+            rating = Integer.parseInt(parts[0]);
+            createdAt = LocalDateTime.parse(parts[1]);
+            id = Long.parseLong(parts[2]);
+        }
+
+        // One extra row tells us whether another page exists
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<Review> reviews;
+        if (stars != null) {
+            reviews = reviewRepository.findNewestPageByRating(gameId, stars, createdAt, id, page);
+        } else if ("rating".equalsIgnoreCase(sort)) {
+            reviews = reviewRepository.findTopRatedPage(gameId, rating, createdAt, id, page);
+        } else {
+            reviews = reviewRepository.findNewestPage(gameId, createdAt, id, page);
+        }
+
+        String nextCursor = null;
+        if (reviews.size() > pageSize) {
+            reviews = reviews.subList(0, pageSize);
+            nextCursor = encode(reviews.get(pageSize - 1));
+        }
+        return new ReviewPageDTO(reviews, nextCursor);
+    }
+
+    private static String encode(Review last) {
+        String key = last.getRating() + "|" + last.getCreatedAt() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            Integer.parseInt(parts[0]);
+            LocalDateTime.parse(parts[1]);
+            Long.parseLong(parts[2]);
+            return parts;
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Season;
+import com.example.demo.model.SeasonStanding;
+import com.example.demo.model.User;
+import com.example.demo.repository.SeasonRepository;
+import com.example.demo.repository.SeasonStandingRepository;
+import com.example.demo.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Ends a season by archiving every player's XP and badge into season_standings and resetting (or decaying)
+// users.total_xp. The rollover walks users in id order, one short transaction per chunk that locks only that
+// chunk's rows, and keeps its cursor on the season row, so it never blocks the whole table and a restart picks
+// up where it stopped.
+@Service
+public class SeasonService {
+
+    @Autowired
+    private SeasonRepository seasonRepository;
+
+    @Autowired
+    private SeasonStandingRepository standingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // The shared @Async executor, virtual threads when that mode is on
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
+    @Value("${seasons.length-days:0}")
+    private int lengthDays;
+
+    @Value("${seasons.keep-percent:0}")
+    private int defaultKeepPercent;
+
+    @Value("${seasons.rollover.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${seasons.rollover.pause-ms:10}")
+    private long pauseMs;
+
+    private final AtomicBoolean rolloverRunning = new AtomicBoolean();
+    private final LongAdder chunksDone = new LongAdder();
+    private final LongAdder playersArchived = new LongAdder();
+    private volatile Map<String, Object> lastRollover = Map.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeRollover() {
+        Optional<Season> rolling = seasonRepository.findFirstByStatusOrderByNumberDesc(Season.ROLLING_OVER);
+        if (rolling.isPresent() && rolloverRunning.compareAndSet(false, true)) {
+            System.out.println("Resuming rollover of season " + rolling.get().getNumber() + " after user id "
+                    + rolling.get().getRolloverCursor());
+            runInBackground(rolling.get().getId());
+        }
+    }
+
+    // Ends the active season once it is seasons.length-days old; 0 leaves it to POST /api/seasons/rollover
+    @Scheduled(fixedDelayString = "${seasons.check-ms:60000}")
+    public void checkSeasonEnd() {
+        if (lengthDays <= 0 || rolloverRunning.get()) {
+            return;
+        }
+        seasonRepository.findFirstByStatusOrderByNumberDesc(Season.ACTIVE)
+                .filter(season -> !season.getStartedAt().plusDays(lengthDays).isAfter(LocalDateTime.now()))
+                .ifPresent(season -> startRollover(defaultKeepPercent));
+    }
+
+    // Freezes the active season and starts archiving it in the background; false if there is nothing to roll
+    // over or a rollover is already running
+    public boolean startRollover(int keepPercent) {
+        if (!rolloverRunning.compareAndSet(false, true)) {
+            return false;
+        }
+        Long seasonId;
+        try {
+            seasonId = new TransactionTemplate(transactionManager).execute(status -> {
+                Optional<Season> active = seasonRepository.findFirstByStatusOrderByNumberDesc(Season.ACTIVE);
+                if (active.isEmpty()) {
+                    return null;
+                }
+                Season season = seasonRepository.lockById(active.get().getId()).orElseThrow();
+                if (!Season.ACTIVE.equals(season.getStatus())) {
+                    return null;
+                }
+                season.setStatus(Season.ROLLING_OVER);
+                season.setEndedAt(LocalDateTime.now());
+                season.setKeepPercent(keepPercent);
+                season.setRolloverCursor(0);
+                season.setArchivedPlayers(0);
+                seasonRepository.save(season);
+                return season.getId();
+            });
+        } catch (RuntimeException e) {
+            rolloverRunning.set(false);
+            throw e;
+        }
+        if (seasonId == null) {
+            rolloverRunning.set(false);
+            return false;
+        }
+        runInBackground(seasonId);
+        return true;
+    }
+
+    private void runInBackground(Long seasonId) {
+        taskExecutor.execute(() -> {
+            try {
+                lastRollover = rollover(seasonId);
+                System.out.println("Season rollover finished: " + lastRollover);
+            } catch (RuntimeException e) {
+                lastRollover = Map.of("seasonId", seasonId, "error", String.valueOf(e.getMessage()));
+                System.out.println("Season rollover failed: " + e.getMessage());
+            } finally {
+                rolloverRunning.set(false);
+            }
+        });
+    }
+
+    private Map<String, Object> rollover(Long seasonId) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long started = System.currentTimeMillis();
+        int chunks = 0;
+        while (Boolean.TRUE.equals(transaction.execute(status -> archiveNextChunk(seasonId)))) {
+            chunks++;
+            if (pauseMs > 0) {
+                // Leaves room between chunks for the submissions that queued up behind its row locks
+                try {
+                    Thread.sleep(pauseMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    // Shutting down; the cursor is committed, so the next start resumes from here
+                    return Map.of("seasonId", seasonId, "interrupted", true, "chunks", chunks);
+                }
+            }
+        }
+        Season next = transaction.execute(status -> finish(seasonId));
+        Season archived = seasonRepository.findById(seasonId).orElseThrow();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("season", archived.getNumber());
+        result.put("archivedPlayers", archived.getArchivedPlayers());
+        result.put("keepPercent", archived.getKeepPercent());
+        result.put("chunks", chunks);
+        result.put("millis", System.currentTimeMillis() - started);
+        result.put("nextSeason", next != null ? next.getNumber() : null);
+        return result;
+    }
+
+    // One chunk, in its own transaction: lock the next chunkSize users, copy the ones with XP into the
+    // standings, reset them and move the cursor past them. False once every user has been rolled over.
+    private boolean archiveNextChunk(Long seasonId) {
+        Season season = seasonRepository.lockById(seasonId).orElseThrow();
+        if (!Season.ROLLING_OVER.equals(season.getStatus())) {
+            return false;
+        }
+        long fromId = season.getRolloverCursor();
+        List<Long> ids = userRepository.lockIdsAfter(fromId, chunkSize);
+        if (ids.isEmpty()) {
+            return false;
+        }
+        long toId = ids.get(ids.size() - 1);
+        int archived = standingRepository.archiveChunk(seasonId, fromId, toId);
+        userRepository.rolloverChunk(fromId, toId, season.getKeepPercent(), GameResultService.SILVER_XP,
+                GameResultService.GOLD_XP, GameResultService.PLATINUM_XP, GameResultService.DIAMOND_XP);
+
+        season.setRolloverCursor(toId);
+        season.setArchivedPlayers(season.getArchivedPlayers() + archived);
+        seasonRepository.save(season);
+        chunksDone.increment();
+        playersArchived.add(archived);
+        return true;
+    }
+
+    private Season finish(Long seasonId) {
+        Season season = seasonRepository.lockById(seasonId).orElseThrow();
+        if (!Season.ROLLING_OVER.equals(season.getStatus())) {
+            return null;
+        }
+        season.setStatus(Season.ARCHIVED);
+        seasonRepository.save(season);
+        return seasonRepository.save(new Season(season.getNumber() + 1));
+    }
+
+    // The newest season: the active one, or the one being rolled over
+    public Optional<Season> getCurrent() {
+        return seasonRepository.findFirstByOrderByNumberDesc();
+    }
+
+    public List<Season> getSeasons() {
+        return seasonRepository.findAllByOrderByNumberDesc();
+    }
+
+    public Optional<Season> getSeason(int number) {
+        return seasonRepository.findByNumber(number);
+    }
+
+    // A page of an archived season's standings with competition ranks (ties share a rank, the next one skips)
+    public List<Map<String, Object>> getStandings(Season season, int page, int size) {
+        List<SeasonStanding> rows = standingRepository.findBySeasonIdOrderByTotalXpDescUserIdAsc(season.getId(),
+                PageRequest.of(page, size));
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, String> usernames = new HashMap<>();
+        for (User user : userRepository.findAllById(rows.stream().map(SeasonStanding::getUserId).toList())) {
+            usernames.put(user.getId(), user.getUsername());
+        }
+
+        List<Map<String, Object>> standings = new ArrayList<>(rows.size());
+        long position = (long) page * size;
+        long rank = standingRepository.countBySeasonIdAndTotalXpGreaterThan(season.getId(), rows.get(0).getTotalXp()) + 1;
+        int previousXp = rows.get(0).getTotalXp();
+        for (SeasonStanding row : rows) {
+            position++;
+            if (row.getTotalXp() != previousXp) {
+                rank = position;
+                previousXp = row.getTotalXp();
+            }
+            standings.add(entry(rank, usernames.get(row.getUserId()), row));
+        }
+        return standings;
+    }
+
+    public Optional<Map<String, Object>> getStanding(Season season, User user) {
+        return standingRepository.findBySeasonIdAndUserId(season.getId(), user.getId())
+                .map(row -> entry(standingRepository.countBySeasonIdAndTotalXpGreaterThan(season.getId(),
+                        row.getTotalXp()) + 1, user.getUsername(), row));
+    }
+
+    private static Map<String, Object> entry(long rank, String username, SeasonStanding row) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("rank", rank);
+        entry.put("username", username);
+        entry.put("totalXp", row.getTotalXp());
+        entry.put("rankBadge", row.getRankBadge());
+        return entry;
+    }
+
+    public Map<String, Object> getLastRollover() {
+        Map<String, Object> status = new LinkedHashMap<>(lastRollover);
+        status.put("running", rolloverRunning.get());
+        return status;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("rolloverRunning", rolloverRunning.get() ? 1 : 0);
+        stats.put("chunks", chunksDone.sum());
+        stats.put("playersArchived", playersArchived.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ArenaUpdateDTO;
+import com.example.demo.model.SnakeArena;
+import com.example.demo.model.SnakeSimulation;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+public class SnakeArenaService {
+
+    private static final long TICK_NANOS = SnakeSimulation.TICK_MS * 1_000_000L;
+    private static final long IDLE_CLOSE_MS = 60_000;
+
+    @Autowired
+    private SimpMessagingTemplate template;
+
+    // Every arena is a fixed-rate task on the shared pool, so anonymous creation needs a ceiling
+    @Value("${arena.max-arenas:50}")
+    private int maxArenas;
+
+    // All arenas share one pool sized to the machine, never a thread per arena
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(
+            Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "arena-tick");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final Map<String, ArenaHandle> arenas = new ConcurrentHashMap<>();
+    // Which arena and player each STOMP session steers, so a closed tab frees its slot
+    private final Map<String, Seat> seats = new ConcurrentHashMap<>();
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+    private final LongAdder ticks = new LongAdder();
+    private final LongAdder totalJitterNanos = new LongAdder();
+    private final LongAdder totalCpuNanos = new LongAdder();
+    private final LongAccumulator maxJitterNanos = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxCpuNanos = new LongAccumulator(Math::max, 0);
+
+    // Null when maxArenas are already open
+    public synchronized SnakeArena createArena() {
+        if (arenas.size() >= maxArenas) {
+            return null;
+        }
+        SnakeArena arena = new SnakeArena(UUID.randomUUID().toString());
+        ArenaHandle handle = new ArenaHandle(arena);
+        arenas.put(arena.getId(), handle);
+        handle.firstTickAt = System.nanoTime() + TICK_NANOS;
+        handle.future = scheduler.scheduleAtFixedRate(() -> runTick(handle), TICK_NANOS, TICK_NANOS,
+                TimeUnit.NANOSECONDS);
+        return arena;
+    }
+
+    public Optional<SnakeArena> getArena(String arenaId) {
+        ArenaHandle handle = arenas.get(arenaId);
+        return handle != null ? Optional.of(handle.arena) : Optional.empty();
+    }
+
+    public void turn(String sessionId, String arenaId, String username, int direction) {
+        ArenaHandle handle = arenas.get(arenaId);
+        if (handle == null) {
+            return;
+        }
+        handle.arena.turn(username, direction);
+        if (sessionId != null) {
+            Seat seat = seats.get(sessionId);
+            if (seat == null || !seat.arenaId.equals(arenaId) || !seat.username.equals(username)) {
+                seats.put(sessionId, new Seat(arenaId, username));
+            }
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Seat seat = seats.remove(event.getSessionId());
+        if (seat != null) {
+            getArena(seat.arenaId).ifPresent(arena -> arena.leave(seat.username));
+        }
+    }
+
+    public List<Map<String, Object>> listArenas() {
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (ArenaHandle handle : arenas.values()) {
+            list.add(Map.of("id", handle.arena.getId(), "players", handle.arena.playerCount()));
+        }
+        return list;
+    }
+
+    // Full frame for clients that just joined or lost track of the deltas
+    public void sync(SnakeArena arena) {
+        ArenaUpdateDTO update = newUpdate(arena);
+        update.setGrid(arena.snapshotGrid());
+        update.setPlayers(players(arena));
+        template.convertAndSend("/topic/arena/" + arena.getId(), update);
+    }
+
+    public Map<String, Object> getStats() {
+        long count = ticks.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("arenas", arenas.size());
+        stats.put("ticks", count);
+        stats.put("avgJitterMicros", count > 0 ? totalJitterNanos.sum() / count / 1_000 : 0);
+        stats.put("maxJitterMicros", maxJitterNanos.get() / 1_000);
+        stats.put("avgTickCpuMicros", count > 0 ? totalCpuNanos.sum() / count / 1_000 : 0);
+        stats.put("maxTickCpuMicros", maxCpuNanos.get() / 1_000);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void runTick(ArenaHandle handle) {
+        long start = System.nanoTime();
+        long jitter = Math.max(0, start - (handle.firstTickAt + handle.ticks * TICK_NANOS));
+        handle.ticks++;
+        long cpuStart = threadBean.getCurrentThreadCpuTime();
+
+        // An exception escaping here would silently cancel this arena's schedule
+        try {
+            SnakeArena arena = handle.arena;
+            // Empty, or everyone in it dead and nobody has rejoined or steered for a while
+            if (arena.aliveCount() == 0 && System.currentTimeMillis() - arena.getLastActivity() > IDLE_CLOSE_MS) {
+                handle.future.cancel(false);
+                arenas.remove(arena.getId());
+                seats.values().removeIf(seat -> seat.arenaId.equals(arena.getId()));
+                return;
+            }
+
+            int[] delta = arena.tick();
+            if (delta == null) {
+                sync(arena);
+            } else {
+                ArenaUpdateDTO update = newUpdate(arena);
+                update.setChanges(delta);
+                if (arena.consumePlayersChanged()) {
+                    update.setPlayers(players(arena));
+                }
+                template.convertAndSend("/topic/arena/" + arena.getId(), update);
+            }
+        } catch (RuntimeException e) {
+            System.out.println("Arena tick failed: " + e.getMessage());
+        }
+
+        ticks.increment();
+        totalJitterNanos.add(jitter);
+        maxJitterNanos.accumulate(jitter);
+        long cpu = threadBean.getCurrentThreadCpuTime() - cpuStart;
+        totalCpuNanos.add(cpu);
+        maxCpuNanos.accumulate(cpu);
+    }
+
+    private static ArenaUpdateDTO newUpdate(SnakeArena arena) {
+        ArenaUpdateDTO update = new ArenaUpdateDTO();
+        update.setArenaId(arena.getId());
+        update.setTick(arena.getTick());
+        update.setWidth(SnakeArena.WIDTH);
+        update.setHeight(SnakeArena.HEIGHT);
+        return update;
+    }
+
+    private static List<Map<String, Object>> players(SnakeArena arena) {
+        List<Map<String, Object>> players = new ArrayList<>();
+        for (int slot = 0; slot < SnakeArena.MAX_PLAYERS; slot++) {
+            String username = arena.getUsername(slot);
+            if (username != null) {
+                players.add(Map.of("slot", slot, "username", username, "score", arena.getScore(slot),
+                        "length", arena.getLength(slot), "alive", arena.isAlive(slot)));
+            }
+        }
+        return players;
+    }
+
+    private static class Seat {
+        private final String arenaId;
+        private final String username;
+
+        private Seat(String arenaId, String username) {
+            this.arenaId = arenaId;
+            this.username = username;
+        }
+    }
+
+    private static class ArenaHandle {
+        private final SnakeArena arena;
+        private volatile ScheduledFuture<?> future;
+        private long firstTickAt;
+        private long ticks; // only touched by the (single) running tick of this arena
+
+        private ArenaHandle(SnakeArena arena) {
+            this.arena = arena;
+        }
+    }
+}
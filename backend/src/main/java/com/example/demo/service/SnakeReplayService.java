@@ -0,0 +1,77 @@
+package com.example.demo.service;
+
+import com.example.demo.model.SnakeSimulation;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class SnakeReplayService {
+
+    // ~28 hours of play at 100 ms per tick
+    public static final int MAX_TICKS = 1_000_000;
+    private static final long VERIFY_TIMEOUT_MS = 2_000;
+
+    // Bounded pool so replay CPU never competes with request threads beyond one core each
+    private final ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "snake-replay");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final ThreadLocal<SnakeSimulation> simulations = ThreadLocal.withInitial(SnakeSimulation::new);
+
+    // inputs are packed as (tick << 2) | direction, in the order the client applied them
+    public boolean verify(int seed, int[] inputs, int ticks, int claimedScore) {
+        if (ticks <= 0 || ticks > MAX_TICKS) {
+            return false;
+        }
+        Future<Boolean> result = pool.submit(() -> replay(seed, inputs, ticks, claimedScore));
+        try {
+            return result.get(VERIFY_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            result.cancel(true);
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private boolean replay(int seed, int[] inputs, int ticks, int claimedScore) {
+        SnakeSimulation simulation = simulations.get();
+        simulation.reset(seed);
+
+        int next = 0;
+        for (int tick = 0; tick < ticks; tick++) {
+            while (next < inputs.length && (inputs[next] >>> 2) <= tick) {
+                if ((inputs[next] >>> 2) < tick) {
+                    return false; // out of order
+                }
+                simulation.turn(inputs[next] & 3);
+                next++;
+            }
+            // The game may only end on its final reported tick
+            if (!simulation.step() && tick != ticks - 1) {
+                return false;
+            }
+        }
+        // Keys pressed after the final tick are harmless; anything else left over is malformed
+        for (; next < inputs.length; next++) {
+            if ((inputs[next] >>> 2) < ticks) {
+                return false;
+            }
+        }
+        return simulation.getScore() == claimedScore;
+    }
+}
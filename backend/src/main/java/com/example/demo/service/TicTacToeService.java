@@ -0,0 +1,126 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TicTacToeStateDTO;
+import com.example.demo.event.MatchPairedEvent;
+import com.example.demo.model.TicTacToeSession;
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class TicTacToeService {
+
+    private static final long FINISHED_RETENTION_MS = 60_000;
+    private static final long ABANDONED_AFTER_MS = 10 * 60_000;
+    private static final String[] STATUS_NAMES = { "IN_PROGRESS", "X_WON", "O_WON", "DRAW" };
+
+    @Autowired
+    private SimpMessagingTemplate template;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GameResultService gameResultService;
+
+    private final Map<String, TicTacToeSession> sessions = new ConcurrentHashMap<>();
+
+    @EventListener
+    public void onMatchPaired(MatchPairedEvent event) {
+        if ("TICTACTOE".equals(event.getGame())) {
+            createSession(event.getMatchId(), event.getFirstPlayer(), event.getSecondPlayer());
+        }
+    }
+
+    public TicTacToeSession createSession(String gameId, String playerX, String playerO) {
+        TicTacToeSession session = new TicTacToeSession(gameId, playerX, playerO);
+        sessions.put(gameId, session);
+        return session;
+    }
+
+    public Optional<TicTacToeSession> getSession(String gameId) {
+        return Optional.ofNullable(sessions.get(gameId));
+    }
+
+    public void move(TicTacToeSession session, String player, int cell) {
+        // Illegal moves are dropped; the broadcast state lets the client resync either way
+        int status = session.applyMove(player, cell);
+        broadcast(session);
+
+        // applyMove reports the end of the game only to the move that ended it, so results are recorded once
+        if (status != TicTacToeSession.REJECTED && status != TicTacToeSession.IN_PROGRESS) {
+            recordResults(session, status);
+        }
+    }
+
+    public void broadcast(TicTacToeSession session) {
+        template.convertAndSend("/topic/tictactoe/" + session.getId(), toState(session));
+    }
+
+    public TicTacToeStateDTO toState(TicTacToeSession session) {
+        int board;
+        int status;
+        synchronized (session) {
+            board = session.getBoard();
+            status = session.getStatus();
+        }
+
+        char[] cells = new char[9];
+        for (int i = 0; i < 9; i++) {
+            cells[i] = (board & (1 << i)) != 0 ? 'X' : (board & (1 << (i + 9))) != 0 ? 'O' : '-';
+        }
+        boolean xToMove = Integer.bitCount(board & 0x1FF) == Integer.bitCount(board >>> 9);
+
+        TicTacToeStateDTO state = new TicTacToeStateDTO();
+        state.setGameId(session.getId());
+        state.setPlayerX(session.getPlayerX());
+        state.setPlayerO(session.getPlayerO());
+        state.setBoard(new String(cells));
+        state.setStatus(STATUS_NAMES[status]);
+        if (status == TicTacToeSession.IN_PROGRESS) {
+            state.setNextPlayer(xToMove ? session.getPlayerX() : session.getPlayerO());
+        } else if (status == TicTacToeSession.X_WON) {
+            state.setWinner(session.getPlayerX());
+        } else if (status == TicTacToeSession.O_WON) {
+            state.setWinner(session.getPlayerO());
+        }
+        return state;
+    }
+
+    @Scheduled(fixedRate = 60_000)
+    public void evictSessions() {
+        long now = System.currentTimeMillis();
+        sessions.values().removeIf(session -> {
+            long idle = now - session.getLastActivity();
+            return session.getStatus() == TicTacToeSession.IN_PROGRESS
+                    ? idle > ABANDONED_AFTER_MS
+                    : idle > FINISHED_RETENTION_MS;
+        });
+    }
+
+    public int getActiveSessionCount() {
+        return sessions.size();
+    }
+
+    private void recordResults(TicTacToeSession session, int status) {
+        double durationSeconds = (session.getLastActivity() - session.getStartedAt()) / 1000.0;
+        String resultX = status == TicTacToeSession.DRAW ? "DRAW" : status == TicTacToeSession.X_WON ? "WIN" : "LOSS";
+        String resultO = status == TicTacToeSession.DRAW ? "DRAW" : status == TicTacToeSession.O_WON ? "WIN" : "LOSS";
+
+        Optional<User> userX = userRepository.findByUsername(session.getPlayerX());
+        Optional<User> userO = userRepository.findByUsername(session.getPlayerO());
+        Long idX = userX.map(User::getId).orElse(null);
+        Long idO = userO.map(User::getId).orElse(null);
+        // Each side's match row points at the other player, which is what head-to-head ratings pair on
+        userX.ifPresent(user -> gameResultService.recordEngineResult(user, "TICTACTOE", resultX, durationSeconds, idO));
+        userO.ifPresent(user -> gameResultService.recordEngineResult(user, "TICTACTOE", resultO, durationSeconds, idX));
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.demo.service;
+
+import com.example.demo.model.TicTacToeSession;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Service
+public class TicTacToeSolverService {
+
+    public static final int INVALID = -2;
+    public static final int GAME_OVER = -1;
+
+    private static final int STATES = 19683; // 3^9
+    private static final int FULL_BOARD = 0x1FF;
+    private static final byte UNSOLVED = Byte.MIN_VALUE;
+
+    // BASE3[mask] = sum of 3^cell over the set bits, so index(x, o) = BASE3[x] + 2 * BASE3[o]
+    private static final int[] BASE3 = new int[512];
+    private static final int[] POW3 = new int[9];
+    // The 8 rotations/reflections of the board applied to a 9-bit mask
+    private static final short[][] SYMMETRY = new short[8][512];
+
+    static {
+        int[][] cellMaps = {
+                { 0, 1, 2, 3, 4, 5, 6, 7, 8 },
+                { 6, 3, 0, 7, 4, 1, 8, 5, 2 },
+                { 8, 7, 6, 5, 4, 3, 2, 1, 0 },
+                { 2, 5, 8, 1, 4, 7, 0, 3, 6 },
+                { 2, 1, 0, 5, 4, 3, 8, 7, 6 },
+                { 6, 7, 8, 3, 4, 5, 0, 1, 2 },
+                { 0, 3, 6, 1, 4, 7, 2, 5, 8 },
+                { 8, 5, 2, 7, 4, 1, 6, 3, 0 } };
+        for (int i = 0, p = 1; i < 9; i++, p *= 3) {
+            POW3[i] = p;
+        }
+        for (int mask = 0; mask < 512; mask++) {
+            for (int cell = 0; cell < 9; cell++) {
+                if ((mask & (1 << cell)) != 0) {
+                    BASE3[mask] += POW3[cell];
+                    for (int t = 0; t < 8; t++) {
+                        SYMMETRY[t][mask] |= (short) (1 << cellMaps[t][cell]);
+                    }
+                }
+            }
+        }
+    }
+
+    // Indexed by base-3 position, from the point of view of the side to move.
+    // Evaluation is +n for a forced win, -n for a forced loss (larger n = sooner), 0 for a draw.
+    private final byte[] evaluation = new byte[STATES];
+    private final byte[] bestMove = new byte[STATES];
+
+    public TicTacToeSolverService() {
+        long start = System.nanoTime();
+        byte[] canonicalEvaluation = new byte[STATES];
+        Arrays.fill(canonicalEvaluation, UNSOLVED);
+        Arrays.fill(bestMove, (byte) INVALID);
+
+        for (int index = 0; index < STATES; index++) {
+            int x = 0;
+            int o = 0;
+            for (int cell = 0, rest = index; cell < 9; cell++, rest /= 3) {
+                if (rest % 3 == 1) {
+                    x |= 1 << cell;
+                } else if (rest % 3 == 2) {
+                    o |= 1 << cell;
+                }
+            }
+            if (isReachable(x, o)) {
+                evaluation[index] = solve(x, o, canonicalEvaluation);
+                bestMove[index] = GAME_OVER;
+            }
+        }
+        for (int index = 0; index < STATES; index++) {
+            if (bestMove[index] == GAME_OVER) {
+                bestMove[index] = (byte) searchBestMove(index);
+            }
+        }
+        System.out.println("TicTacToe solver table built in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    public static int index(int x, int o) {
+        return BASE3[x] + 2 * BASE3[o];
+    }
+
+    // INVALID for impossible positions, GAME_OVER for finished ones, otherwise the optimal cell
+    public int bestMove(int x, int o) {
+        return bestMove[index(x, o)];
+    }
+
+    public int evaluate(int x, int o) {
+        return evaluation[index(x, o)];
+    }
+
+    // Plays the optimal move, except that with probability mistakeRate it picks a strictly worse one
+    public int chooseMove(int x, int o, double mistakeRate) {
+        int index = index(x, o);
+        int best = bestMove[index];
+        if (best < 0 || mistakeRate <= 0 || ThreadLocalRandom.current().nextDouble() >= mistakeRate) {
+            return best;
+        }
+
+        int step = Integer.bitCount(x) == Integer.bitCount(o) ? 1 : 2;
+        int bestValue = -evaluation[index + step * POW3[best]];
+        int free = ~(x | o) & FULL_BOARD;
+        int worse = 0;
+        for (int cell = 0; cell < 9; cell++) {
+            if ((free & (1 << cell)) != 0 && -evaluation[index + step * POW3[cell]] < bestValue) {
+                worse++;
+            }
+        }
+        if (worse == 0) {
+            return best; // every move is equally good here
+        }
+        int pick = ThreadLocalRandom.current().nextInt(worse);
+        for (int cell = 0; cell < 9; cell++) {
+            if ((free & (1 << cell)) != 0 && -evaluation[index + step * POW3[cell]] < bestValue && pick-- == 0) {
+                return cell;
+            }
+        }
+        return best;
+    }
+
+    private static boolean isReachable(int x, int o) {
+        if ((x & o) != 0) {
+            return false;
+        }
+        int xCount = Integer.bitCount(x);
+        int oCount = Integer.bitCount(o);
+        if (xCount != oCount && xCount != oCount + 1) {
+            return false;
+        }
+        boolean xWon = TicTacToeSession.isWinningMask(x);
+        boolean oWon = TicTacToeSession.isWinningMask(o);
+        // Nobody moves after a win, so the winner must have made the last move
+        return !(xWon && oWon) && !(xWon && xCount == oCount) && !(oWon && xCount != oCount);
+    }
+
+    // Negamax memoised on the symmetry-reduced position, so each of the 8 orientations is solved once
+    private static byte solve(int x, int o, byte[] canonicalEvaluation) {
+        int canonical = canonicalIndex(x, o);
+        if (canonicalEvaluation[canonical] != UNSOLVED) {
+            return canonicalEvaluation[canonical];
+        }
+
+        boolean xToMove = Integer.bitCount(x) == Integer.bitCount(o);
+        int mover = xToMove ? x : o;
+        int opponent = xToMove ? o : x;
+        int free = ~(x | o) & FULL_BOARD;
+
+        byte value;
+        if (TicTacToeSession.isWinningMask(opponent)) {
+            value = (byte) -(1 + Integer.bitCount(free));
+        } else if (free == 0) {
+            value = 0;
+        } else {
+            int best = Integer.MIN_VALUE;
+            for (int cell = 0; cell < 9; cell++) {
+                if ((free & (1 << cell)) != 0) {
+                    int next = mover | (1 << cell);
+                    int child = xToMove ? solve(next, o, canonicalEvaluation) : solve(x, next, canonicalEvaluation);
+                    best = Math.max(best, -child);
+                }
+            }
+            value = (byte) best;
+        }
+        canonicalEvaluation[canonical] = value;
+        return value;
+    }
+
+    private int searchBestMove(int index) {
+        int x = 0;
+        int o = 0;
+        for (int cell = 0, rest = index; cell < 9; cell++, rest /= 3) {
+            if (rest % 3 == 1) {
+                x |= 1 << cell;
+            } else if (rest % 3 == 2) {
+                o |= 1 << cell;
+            }
+        }
+        int free = ~(x | o) & FULL_BOARD;
+        if (free == 0 || TicTacToeSession.isWinningMask(x) || TicTacToeSession.isWinningMask(o)) {
+            return GAME_OVER;
+        }
+
+        int step = Integer.bitCount(x) == Integer.bitCount(o) ? 1 : 2;
+        int best = GAME_OVER;
+        int bestValue = Integer.MIN_VALUE;
+        for (int cell = 0; cell < 9; cell++) {
+            if ((free & (1 << cell)) != 0) {
+                int value = -evaluation[index + step * POW3[cell]];
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = cell;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static int canonicalIndex(int x, int o) {
+        int min = Integer.MAX_VALUE;
+        for (int t = 0; t < 8; t++) {
+            min = Math.min(min, index(SYMMETRY[t][x], SYMMETRY[t][o]));
+        }
+        return min;
+    }
+}
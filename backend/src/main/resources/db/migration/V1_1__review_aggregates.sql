@@ -0,0 +1,12 @@
+-- Running rating histogram per game, kept by ReviewService.addRating; V8 backfills games that already had reviews
+alter table games add column rating_sum bigint not null default 0;
+alter table games add column rating_count1 bigint not null default 0;
+alter table games add column rating_count2 bigint not null default 0;
+alter table games add column rating_count3 bigint not null default 0;
+alter table games add column rating_count4 bigint not null default 0;
+alter table games add column rating_count5 bigint not null default 0;
+alter table games add column review_count bigint not null default 0;
+
+-- Keyset pages of a game's reviews, newest first or filtered/ordered by rating
+create index idx_reviews_game_created on reviews (game_id, created_at);
+create index idx_reviews_game_rating on reviews (game_id, rating, created_at);
@@ -0,0 +1,16 @@
+-- Per-(user, game) counters the achievements engine unlocks from, one bit per achievement in unlocked_mask
+create table achievement_progress (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    game varchar(255) not null,
+    games_played bigint not null,
+    wins bigint not null,
+    current_streak bigint not null,
+    best_streak bigint not null,
+    best_score bigint not null,
+    total_score bigint not null,
+    unlocked_mask bigint not null,
+    primary key (id)
+);
+
+alter table achievement_progress add constraint UKd063g62w7r1h6pswbxawid241 unique (user_id, game);
@@ -0,0 +1,17 @@
+-- Head-to-head results name the other player, which is what the Glicko-2 ratings pair on
+alter table matches add column opponent_id bigint;
+
+create table player_ratings (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    game varchar(255) not null,
+    rating float(53) not null,
+    deviation float(53) not null,
+    volatility float(53) not null,
+    games_rated bigint not null,
+    updated_at datetime(6),
+    primary key (id)
+);
+
+alter table player_ratings add constraint UKqbyes5qf1w5evgx4yy1cv6fjg unique (user_id, game);
+create index idx_player_ratings_game_rating on player_ratings (game, rating);
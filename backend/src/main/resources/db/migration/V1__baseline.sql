@@ -0,0 +1,52 @@
+-- Schema as previously created by hibernate.ddl-auto=update; existing databases are baselined at this version
+create table users (
+    id bigint not null auto_increment,
+    username varchar(255) not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    bio varchar(255),
+    rank_badge varchar(255),
+    total_xp integer not null,
+    wins integer not null,
+    losses integer not null,
+    kills integer not null,
+    deaths integer not null,
+    snake_high_score integer not null,
+    play_time float(53) not null,
+    primary key (id)
+);
+
+create table games (
+    id bigint not null auto_increment,
+    title varchar(255),
+    description varchar(255),
+    genre varchar(255),
+    image_url varchar(255),
+    rating float(53) not null,
+    primary key (id)
+);
+
+create table matches (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    game_name varchar(255),
+    result varchar(255),
+    score integer not null,
+    played_at datetime(6),
+    primary key (id)
+);
+
+create table reviews (
+    id bigint not null auto_increment,
+    game_id bigint,
+    user_id bigint,
+    username varchar(255),
+    rating integer not null,
+    comment varchar(255),
+    created_at datetime(6),
+    primary key (id)
+);
+
+alter table users add constraint UK_6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table users add constraint UK_r43af9ap4edm43mmtq01oddj6 unique (username);
+alter table matches add constraint FKjn5cea248gae6hjub299oyqlf foreign key (user_id) references users (id);
@@ -0,0 +1,8 @@
+-- Leaderboard: top 50 by total_xp, read backwards off the index instead of sorting every user
+create index idx_users_total_xp on users (total_xp desc);
+
+-- Match history per user, newest first; supersedes the foreign key's own user_id index
+create index idx_matches_user_played on matches (user_id, played_at desc);
+
+-- Rating replays page through one game's matches by id and only read these four columns
+create index idx_matches_game_replay on matches (game_name, id, user_id, opponent_id, result);
@@ -0,0 +1,54 @@
+-- Per-(user, game) counters replace the game-specific columns on users
+create table game_stats (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    game varchar(255) not null,
+    games_played integer not null,
+    wins integer not null,
+    losses integer not null,
+    draws integer not null,
+    best_score integer not null,
+    total_score bigint not null,
+    primary key (id)
+);
+
+alter table game_stats add constraint uk_game_stats_user_game unique (user_id, game);
+create index idx_game_stats_game_best on game_stats (game, best_score, wins);
+
+-- users.wins/losses only ever counted TicTacToe; draws and games played come from match history
+insert into game_stats (user_id, game, games_played, wins, losses, draws, best_score, total_score)
+select u.id, 'TICTACTOE',
+       u.wins + u.losses + (select count(*) from matches m
+                            where m.user_id = u.id and m.game_name = 'TICTACTOE' and m.result = 'DRAW'),
+       u.wins, u.losses,
+       (select count(*) from matches m where m.user_id = u.id and m.game_name = 'TICTACTOE' and m.result = 'DRAW'),
+       0, 0
+from users u
+where u.wins > 0 or u.losses > 0
+   or exists (select 1 from matches m where m.user_id = u.id and m.game_name = 'TICTACTOE');
+
+insert into game_stats (user_id, game, games_played, wins, losses, draws, best_score, total_score)
+select u.id, 'SNAKE',
+       (select count(*) from matches m where m.user_id = u.id and m.game_name = 'SNAKE'),
+       0, 0, 0, u.snake_high_score,
+       (select coalesce(sum(case when m.score > 0 then m.score else 0 end), 0) from matches m
+        where m.user_id = u.id and m.game_name = 'SNAKE')
+from users u
+where u.snake_high_score > 0
+   or exists (select 1 from matches m where m.user_id = u.id and m.game_name = 'SNAKE');
+
+-- Any other game already in match history
+insert into game_stats (user_id, game, games_played, wins, losses, draws, best_score, total_score)
+select m.user_id, m.game_name, count(*),
+       sum(case when m.result = 'WIN' then 1 else 0 end),
+       sum(case when m.result = 'LOSS' then 1 else 0 end),
+       sum(case when m.result = 'DRAW' then 1 else 0 end),
+       max(m.score),
+       sum(case when m.score > 0 then m.score else 0 end)
+from matches m
+where m.game_name is not null and m.game_name not in ('TICTACTOE', 'SNAKE')
+group by m.user_id, m.game_name;
+
+alter table users drop column wins;
+alter table users drop column losses;
+alter table users drop column snake_high_score;
@@ -0,0 +1,18 @@
+-- HyperLogLog sketches and counters per game per hour/day/week/month, written by AnalyticsService
+create table analytics_rollups (
+    id bigint not null auto_increment,
+    game varchar(255) not null,
+    period varchar(8) not null,
+    bucket_start datetime(6) not null,
+    players varbinary(8192),
+    sessions bigint not null,
+    wins bigint not null,
+    losses bigint not null,
+    draws bigint not null,
+    score_sum bigint not null,
+    score_histogram varchar(255),
+    updated_at datetime(6),
+    primary key (id)
+);
+
+alter table analytics_rollups add constraint uk_analytics_rollups_bucket unique (game, period, bucket_start);
@@ -0,0 +1,31 @@
+-- Seasonal XP: users.total_xp becomes the current season's XP, and xp_base holds the lifetime XP
+-- that earlier seasons already archived or decayed away
+alter table users add column xp_base integer not null default 0;
+
+create table seasons (
+    id bigint not null auto_increment,
+    season_number integer not null,
+    status varchar(16) not null,
+    started_at datetime(6) not null,
+    ended_at datetime(6),
+    keep_percent integer not null,
+    rollover_cursor bigint not null,
+    archived_players bigint not null,
+    primary key (id)
+);
+
+alter table seasons add constraint uk_seasons_number unique (season_number);
+
+-- Final XP and badge of every player who scored in a season, written once by the rollover
+create table season_standings (
+    season_id bigint not null,
+    user_id bigint not null,
+    total_xp integer not null,
+    rank_badge varchar(255),
+    primary key (season_id, user_id)
+);
+
+create index idx_season_standings_xp on season_standings (season_id, total_xp desc);
+
+insert into seasons (season_number, status, started_at, keep_percent, rollover_cursor, archived_players)
+values (1, 'ACTIVE', current_timestamp, 0, 0, 0);
@@ -0,0 +1,13 @@
+-- One row per pair of players, stored with the smaller user id first so a pair can only exist once
+create table friendships (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    friend_id bigint not null,
+    requested_by bigint not null,
+    status varchar(16) not null,
+    created_at datetime(6),
+    primary key (id)
+);
+
+alter table friendships add constraint uk_friendships_pair unique (user_id, friend_id);
+create index idx_friendships_friend on friendships (friend_id);
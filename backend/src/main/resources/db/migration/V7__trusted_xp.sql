@@ -0,0 +1,20 @@
+-- Results are now only accepted for supported games, and only replay-verified (Snake) scores count toward XP.
+-- Drops rows for game names that are no longer accepted, forgets unverified TicTacToe scores and recomputes
+-- everyone's season XP and badge under that policy (same formula and thresholds as GameResultService)
+delete from game_stats where game not in ('TICTACTOE', 'SNAKE');
+
+update game_stats set best_score = 0, total_score = 0 where game = 'TICTACTOE';
+
+update users set total_xp = greatest(0, least(2147483647,
+        coalesce((select g.wins * 100 from game_stats g where g.user_id = users.id and g.game = 'TICTACTOE'), 0)
+        + coalesce((select g.best_score from game_stats g where g.user_id = users.id and g.game = 'SNAKE'), 0)
+        + floor(play_time * 10) - xp_base))
+where exists (select 1 from game_stats g where g.user_id = users.id);
+
+update users set rank_badge = case
+        when total_xp < 500 then 'Bronze'
+        when total_xp < 1500 then 'Silver'
+        when total_xp < 3000 then 'Gold'
+        when total_xp < 5000 then 'Platinum'
+        else 'Diamond' end
+where exists (select 1 from game_stats g where g.user_id = users.id);
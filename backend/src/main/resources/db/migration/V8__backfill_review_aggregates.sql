@@ -0,0 +1,13 @@
+-- One-off rebuild of the review aggregates for games created before they were kept. Only games still at
+-- review_count = 0 that do have reviews are touched, so counts kept by addRating are never overwritten.
+update games g set
+    rating_count1 = (select count(*) from reviews r where r.game_id = g.id and r.rating = 1),
+    rating_count2 = (select count(*) from reviews r where r.game_id = g.id and r.rating = 2),
+    rating_count3 = (select count(*) from reviews r where r.game_id = g.id and r.rating = 3),
+    rating_count4 = (select count(*) from reviews r where r.game_id = g.id and r.rating = 4),
+    rating_count5 = (select count(*) from reviews r where r.game_id = g.id and r.rating = 5),
+    rating_sum = (select coalesce(sum(r.rating), 0) from reviews r
+                  where r.game_id = g.id and r.rating between 1 and 5),
+    review_count = (select count(*) from reviews r where r.game_id = g.id and r.rating between 1 and 5)
+where g.review_count = 0
+  and exists (select 1 from reviews r where r.game_id = g.id and r.rating between 1 and 5);
@@ -0,0 +1,23 @@
+-- TicTacToe wins only earn XP when the server's game engine decided them. Those are the results recorded
+-- against an opponent; wins a client submitted itself stay in the stats but no longer count toward XP.
+alter table game_stats add column trusted_wins integer not null default 0;
+
+update game_stats set trusted_wins = (select count(*) from matches m
+        where m.user_id = game_stats.user_id and m.game_name = 'TICTACTOE' and m.result = 'WIN'
+          and m.opponent_id is not null)
+where game = 'TICTACTOE';
+
+-- Same formula and thresholds as GameResultService
+update users set total_xp = greatest(0, least(2147483647,
+        coalesce((select g.trusted_wins * 100 from game_stats g where g.user_id = users.id and g.game = 'TICTACTOE'), 0)
+        + coalesce((select g.best_score from game_stats g where g.user_id = users.id and g.game = 'SNAKE'), 0)
+        + floor(play_time * 10) - xp_base))
+where exists (select 1 from game_stats g where g.user_id = users.id);
+
+update users set rank_badge = case
+        when total_xp < 500 then 'Bronze'
+        when total_xp < 1500 then 'Silver'
+        when total_xp < 3000 then 'Gold'
+        when total_xp < 5000 then 'Platinum'
+        else 'Diamond' end
+where exists (select 1 from game_stats g where g.user_id = users.id);
@@ -0,0 +1,72 @@
+package com.example.demo.config;
+
+import com.example.demo.service.MatchmakingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Random;
+
+// Local load simulator, kept out of the shipped jar: mvn spring-boot:test-run
+// -Dspring-boot.run.main-class=com.example.demo.Application -Dspring-boot.run.profiles=matchmaking-sim
+@Component
+@Profile("matchmaking-sim")
+public class MatchmakingSimulator implements CommandLineRunner {
+
+    @Autowired
+    private MatchmakingService matchmakingService;
+
+    @Value("${sim.matchmaking.players:50000}")
+    private int players;
+
+    @Value("${sim.matchmaking.per-second:10000}")
+    private int perSecond;
+
+    @Override
+    public void run(String... args) {
+        Thread thread = new Thread(this::simulate, "matchmaking-sim");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void simulate() {
+        Random random = new Random(42);
+        long start = System.nanoTime();
+        long batchNanos = 1_000_000_000L / Math.max(1, perSecond / 100);
+
+        for (int i = 0; i < players; i++) {
+            // XP roughly log-normal, like a real player base: most near the bottom, a long tail above
+            int xp = (int) Math.min(99_000, Math.exp(6.5 + random.nextGaussian()));
+            String game = random.nextInt(4) == 0 ? "SNAKE" : "TICTACTOE";
+            matchmakingService.enqueue("sim-" + i, game, xp);
+
+            if (i % 100 == 99) {
+                sleepNanos(batchNanos);
+            }
+        }
+        System.out.println("Matchmaking sim: queued " + players + " players in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+        for (int second = 0; second < 120; second++) {
+            sleepNanos(1_000_000_000L);
+            Map<String, Object> stats = matchmakingService.getStats();
+            System.out.println("Matchmaking sim: " + stats);
+            @SuppressWarnings("unchecked")
+            Map<String, Integer> queued = (Map<String, Integer>) stats.get("queued");
+            if (queued.values().stream().allMatch(size -> size <= 1)) {
+                break;
+            }
+        }
+    }
+
+    private static void sleepNanos(long nanos) {
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// Local stand-in for asynchronous replication between two embedded H2 databases, kept out of the shipped
+// jar: mvn spring-boot:test-run -Dspring-boot.run.main-class=com.example.demo.Application
+// -Dspring-boot.run.profiles=replica-local.
+// Every interval the replica's rows are replaced with the primary's in one transaction, so readers see
+// data that lags by up to one interval.
+@Component
+@Profile("replica-local")
+public class ReplicaSimulator {
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Value("${db.replicas.urls}")
+    private String[] replicaUrls;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    private boolean schemaCopied;
+
+    @Scheduled(fixedDelayString = "${replica-sim.interval-ms:2000}", initialDelay = 1000)
+    public void replicate() {
+        List<String> schema = new ArrayList<>();
+        List<String> tables = new ArrayList<>();
+        List<String> rows = new ArrayList<>();
+        try (Connection source = primary.getConnection(); Statement statement = source.createStatement()) {
+            try (ResultSet script = statement.executeQuery("SCRIPT")) {
+                while (script.next()) {
+                    String sql = script.getString(1);
+                    if (sql.startsWith("INSERT INTO")) {
+                        rows.add(sql);
+                    } else if (!sql.startsWith("--")) {
+                        schema.add(sql);
+                    }
+                }
+            }
+            try (ResultSet names = statement.executeQuery(
+                    "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = 'PUBLIC'")) {
+                while (names.next()) {
+                    tables.add(names.getString(1));
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("Replica simulation could not read the primary: " + e.getMessage());
+            return;
+        }
+
+        for (String url : replicaUrls) {
+            try (Connection target = DriverManager.getConnection(url.trim(), username, password);
+                    Statement statement = target.createStatement()) {
+                if (!schemaCopied) {
+                    statement.execute("DROP ALL OBJECTS");
+                    for (String sql : schema) {
+                        statement.execute(sql);
+                    }
+                }
+                statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+                target.setAutoCommit(false);
+                for (String table : tables) {
+                    statement.execute("DELETE FROM \"" + table + "\"");
+                }
+                for (String sql : rows) {
+                    statement.execute(sql);
+                }
+                target.commit();
+                target.setAutoCommit(true);
+                statement.execute("SET REFERENTIAL_INTEGRITY TRUE");
+            } catch (SQLException e) {
+                System.out.println("Replica simulation could not update " + url + ": " + e.getMessage());
+            }
+        }
+        schemaCopied = true;
+    }
+}
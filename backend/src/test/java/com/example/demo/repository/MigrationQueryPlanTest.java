@@ -0,0 +1,178 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.User;
+import org.flywaydb.core.Flyway;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the Flyway migrations on H2 with ddl-auto=validate, so the context only starts if the migrated schema
+// matches the entities, then checks that the hot queries are planned on the indexes the migrations add
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrations;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.demo.repository.MigrationQueryPlanTest$CapturedSql"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MigrationQueryPlanTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        for (int u = 0; u < 200; u++) {
+            User user = new User();
+            user.setUsername("player" + u);
+            user.setEmail("player" + u + "@example.com");
+            user.setPassword("secret");
+            user.setTotalXp(u * 37 % 1000);
+            users.add(user);
+        }
+        userRepository.saveAllAndFlush(users);
+
+        // Enough rows that the planner has a choice to make; generated in the database to keep setup fast
+        long firstUser = users.get(0).getId();
+        jdbcTemplate.update("INSERT INTO matches (user_id, game_name, result, score, played_at) "
+                + "SELECT CAST(? AS BIGINT) + MOD(x, 200), CASE MOD(x, 2) WHEN 0 THEN 'SNAKE' ELSE 'TICTACTOE' END, "
+                + "'WIN', MOD(x, 50), DATEADD(SECOND, x, CAST(? AS TIMESTAMP)) FROM SYSTEM_RANGE(1, 5000)",
+                firstUser, START);
+        jdbcTemplate.update("INSERT INTO reviews (user_id, username, game_id, rating, comment, created_at) "
+                + "SELECT CAST(? AS BIGINT) + MOD(x, 200), CONCAT('player', MOD(x, 200)), MOD(x, 10) + 1, "
+                + "MOD(x, 5) + 1, CONCAT('review ', x), DATEADD(MINUTE, x, CAST(? AS TIMESTAMP)) "
+                + "FROM SYSTEM_RANGE(1, 2000)", firstUser, START);
+    }
+
+    @Test
+    void migrationsAreAllApplied() {
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().current()).isNotNull();
+    }
+
+    // The path every pre-Flyway database takes: baselined at V1 without running it, then migrated from there
+    @Test
+    void legacyDatabaseBaselinedAtV1MigratesToTheSameSchema() {
+        DriverManagerDataSource legacy = new DriverManagerDataSource("jdbc:h2:mem:legacy;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/legacy-schema.sql")).execute(legacy);
+        Flyway.configure().dataSource(legacy).locations("classpath:db/migration")
+                .baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        JdbcTemplate legacyJdbc = new JdbcTemplate(legacy);
+        assertThat(schemaOf(legacyJdbc)).contains("PLAYER_RATINGS IDX_PLAYER_RATINGS_GAME_RATING")
+                .isEqualTo(schemaOf(jdbcTemplate));
+
+        // The rows the old schema held made it through the data migrations
+        Map<String, Object> stats = legacyJdbc.queryForMap(
+                "SELECT games_played, wins, losses, draws FROM game_stats WHERE user_id = 1 AND game = 'TICTACTOE'");
+        assertThat(stats).containsEntry("GAMES_PLAYED", 5).containsEntry("WINS", 3).containsEntry("LOSSES", 1)
+                .containsEntry("DRAWS", 1);
+        assertThat(legacyJdbc.queryForObject("SELECT best_score FROM game_stats WHERE user_id = 1 AND game = 'SNAKE'",
+                Integer.class)).isEqualTo(40);
+        assertThat(legacyJdbc.queryForMap("SELECT review_count, rating_sum, rating_count4, rating_count5 FROM games"))
+                .containsEntry("REVIEW_COUNT", 2L).containsEntry("RATING_SUM", 9L)
+                .containsEntry("RATING_COUNT4", 1L).containsEntry("RATING_COUNT5", 1L);
+        // Self-reported TicTacToe wins earn no XP: 40 from the Snake best plus 25 from 2.5 hours of play
+        assertThat(legacyJdbc.queryForObject("SELECT total_xp FROM users WHERE id = 1", Integer.class)).isEqualTo(65);
+    }
+
+    @Test
+    void leaderboardUsesTotalXpIndex() {
+        assertThat(planOf("users", () -> userRepository.findTop50ByOrderByTotalXpDesc()))
+                .containsIgnoringCase("idx_users_total_xp");
+    }
+
+    @Test
+    void matchHistoryUsesUserPlayedIndex() {
+        assertThat(planOf("matches", () -> matchRepository.findHistory(users.get(0).getId())))
+                .containsIgnoringCase("idx_matches_user_played");
+    }
+
+    @Test
+    void replayPagerUsesGameReplayIndex() {
+        assertThat(planOf("matches", () -> matchRepository.findReplayChunk("TICTACTOE", 100, PageRequest.of(0, 500))))
+                .containsIgnoringCase("idx_matches_game_replay");
+    }
+
+    @Test
+    void reviewKeysetPagesUseReviewIndexes() {
+        LocalDateTime cursor = START.plusMinutes(1000);
+        assertThat(planOf("reviews", () -> reviewRepository.findNewestPage(3L, cursor, 1000L, PageRequest.of(0, 20))))
+                .containsIgnoringCase("idx_reviews_game_created");
+        assertThat(planOf("reviews", () -> reviewRepository.findNewestPageByRating(3L, 4, cursor, 1000L,
+                PageRequest.of(0, 20)))).containsIgnoringCase("idx_reviews_game_rating");
+        assertThat(planOf("reviews", () -> reviewRepository.findTopRatedPage(3L, 4, cursor, 1000L,
+                PageRequest.of(0, 20)))).containsIgnoringCase("idx_reviews_game_rating");
+    }
+
+    // Columns and named indexes of the application tables, to compare two databases by
+    private static List<String> schemaOf(JdbcTemplate jdbc) {
+        List<String> schema = new ArrayList<>(jdbc.queryForList("SELECT CONCAT(TABLE_NAME, '.', COLUMN_NAME, ' ', "
+                + "DATA_TYPE, ' ', IS_NULLABLE) FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = 'PUBLIC' "
+                + "AND TABLE_NAME <> 'flyway_schema_history' ORDER BY TABLE_NAME, COLUMN_NAME", String.class));
+        schema.addAll(jdbc.queryForList("SELECT CONCAT(TABLE_NAME, ' ', INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES "
+                + "WHERE TABLE_SCHEMA = 'PUBLIC' AND INDEX_NAME LIKE 'IDX%' ORDER BY INDEX_NAME", String.class));
+        return schema;
+    }
+
+    // Runs the query, then asks H2 for the plan of the SQL Hibernate generated for it
+    private String planOf(String table, Runnable query) {
+        CapturedSql.statements.clear();
+        query.run();
+        String sql = CapturedSql.statements.stream()
+                .filter(statement -> statement.toLowerCase().contains(" from " + table + " "))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No query on " + table + " in " + CapturedSql.statements));
+        return jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + sql), rs -> {
+            rs.next();
+            return rs.getString(1);
+        });
+    }
+
+    public static class CapturedSql implements StatementInspector {
+        private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+-- A database as hibernate.ddl-auto=update left it before Flyway took over, with a few rows in it
+create table games (id bigint not null auto_increment, rating float(53) not null, description varchar(255), genre varchar(255), image_url varchar(255), title varchar(255), primary key (id));
+create table matches (id bigint not null auto_increment, score integer not null, played_at datetime(6), user_id bigint not null, game_name varchar(255), result varchar(255), primary key (id));
+create table reviews (id bigint not null auto_increment, rating integer not null, created_at datetime(6), game_id bigint, user_id bigint, comment varchar(255), username varchar(255), primary key (id));
+create table users (id bigint not null auto_increment, deaths integer not null, kills integer not null, losses integer not null, play_time float(53) not null, snake_high_score integer not null, total_xp integer not null, wins integer not null, bio varchar(255), email varchar(255) not null, password varchar(255) not null, rank_badge varchar(255), username varchar(255) not null, primary key (id));
+alter table users add constraint UK_6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table users add constraint UK_r43af9ap4edm43mmtq01oddj6 unique (username);
+alter table matches add constraint FKjn5cea248gae6hjub299oyqlf foreign key (user_id) references users (id);
+
+insert into users (id, username, email, password, bio, rank_badge, total_xp, wins, losses, kills, deaths, snake_high_score, play_time)
+values (1, 'veteran', 'veteran@example.com', 'secret', 'New Recruit', 'Bronze I', 1234, 3, 1, 0, 0, 40, 2.5);
+insert into games (id, title, description, genre, image_url, rating) values (1, 'Snake', 'Classic', 'Arcade', null, 4.0);
+insert into matches (user_id, game_name, result, score, played_at) values
+    (1, 'TICTACTOE', 'WIN', 0, '2025-06-01 10:00:00'),
+    (1, 'TICTACTOE', 'DRAW', 0, '2025-06-01 10:05:00'),
+    (1, 'SNAKE', 'COMPLETED', 40, '2025-06-01 10:10:00');
+insert into reviews (game_id, user_id, username, rating, comment, created_at) values
+    (1, 1, 'veteran', 4, 'Fun', '2025-06-02 09:00:00'),
+    (1, 1, 'veteran', 5, 'Still fun', '2025-06-03 09:00:00');
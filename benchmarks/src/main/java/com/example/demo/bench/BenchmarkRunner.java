@@ -0,0 +1,28 @@
+package com.example.demo.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Pinned-down run for numbers we compare across commits: fixed heap with pre-touched pages,
+// several forks, and the GC profiler so every result carries gc.alloc.rate.norm (bytes/op).
+// Usage: java -cp target/benchmarks.jar com.example.demo.bench.BenchmarkRunner [include regex]
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "com\\.example\\.demo\\.bench\\..*")
+                .forks(3)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .jvmArgs("-Xms1g", "-Xmx1g", "-XX:+AlwaysPreTouch", "-XX:+UseG1GC")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.bench;
+
+import com.example.demo.model.ChatRoom;
+import com.example.demo.service.ChatRoomService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChatRoomBenchmark {
+
+    private static final int ROOMS = 1_000;
+    private static final AtomicInteger PLAYERS = new AtomicInteger();
+
+    private ChatRoomService service;
+    private String[] roomIds;
+    private String hotRoomId;
+
+    @State(Scope.Thread)
+    public static class Player {
+        private final String username = "player-" + PLAYERS.incrementAndGet();
+        private final ChatRoom privateRoom = new ChatRoom("solo", 50, "bench");
+        private final ChatRoom fullRoom = new ChatRoom("full", 1, "bench");
+
+        @Setup
+        public void setUp() {
+            fullRoom.addMember("someone-else");
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        // Snapshots are only written by the scheduler, so the file is never touched here
+        service = new ChatRoomService(Files.createTempDirectory("chat-bench").resolve("rooms.snapshot").toString());
+        roomIds = new String[ROOMS];
+        for (int i = 0; i < ROOMS; i++) {
+            roomIds[i] = service.createRoom("Room " + i, 50, "bench").getId();
+        }
+        hotRoomId = roomIds[0];
+    }
+
+    private String randomRoomId() {
+        return roomIds[ThreadLocalRandom.current().nextInt(ROOMS)];
+    }
+
+    @Benchmark
+    public Optional<ChatRoom> lookup() {
+        return service.getRoomById(randomRoomId());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<ChatRoom> lookupContended() {
+        return service.getRoomById(randomRoomId());
+    }
+
+    // Join then leave, so room sizes stay put for the whole run
+    @Benchmark
+    @Threads(4)
+    public boolean joinSameRoomContended(Player player) {
+        boolean joined = service.joinRoom(hotRoomId, player.username);
+        service.leaveRoom(hotRoomId, player.username);
+        return joined;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean joinRandomRoomContended(Player player) {
+        String roomId = randomRoomId();
+        boolean joined = service.joinRoom(roomId, player.username);
+        service.leaveRoom(roomId, player.username);
+        return joined;
+    }
+
+    @Benchmark
+    public boolean addMember(Player player) {
+        boolean added = player.privateRoom.addMember(player.username);
+        player.privateRoom.removeMember(player.username);
+        return added;
+    }
+
+    @Benchmark
+    public boolean addMemberRoomFull(Player player) {
+        return player.fullRoom.addMember(player.username);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.demo.bench;
+
+import com.example.demo.dto.DashboardStatsDTO;
+import com.example.demo.model.PlayerStats;
+import com.example.demo.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DashboardStatsBenchmark {
+
+    private PlayerStats veteran;
+    private PlayerStats newcomer;
+
+    @Setup
+    public void setUp() {
+        veteran = Fixtures.player(Fixtures.user(42L, "veteran"));
+        User user = new User();
+        user.setUsername("newcomer");
+        user.setRankBadge(null);
+        newcomer = new PlayerStats(user, List.of());
+    }
+
+    @Benchmark
+    public DashboardStatsDTO veteran() {
+        return DashboardStatsDTO.from(veteran);
+    }
+
+    @Benchmark
+    public DashboardStatsDTO newcomer() {
+        return DashboardStatsDTO.from(newcomer);
+    }
+}
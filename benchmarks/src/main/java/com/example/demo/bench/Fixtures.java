@@ -0,0 +1,63 @@
+package com.example.demo.bench;
+
+import com.example.demo.model.ChatMessage;
+import com.example.demo.model.GameStats;
+import com.example.demo.model.Match;
+import com.example.demo.model.PlayerStats;
+import com.example.demo.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Deterministic sample entities shared by the benchmarks
+final class Fixtures {
+
+    private static final LocalDateTime PLAYED_AT = LocalDateTime.of(2024, 3, 1, 20, 15, 30);
+
+    private Fixtures() {
+    }
+
+    static User user(Long id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BGEtG0Ckv3ZlcCzXbLt0HqGnSZ3e");
+        user.setRankBadge("Gold");
+        user.setKills(130);
+        user.setDeaths(97);
+        user.setBio("Ranked grinder, snake enjoyer");
+        user.setPlayTime(41.75);
+        user.setTotalXp(3527);
+        return user;
+    }
+
+    static PlayerStats player(User user) {
+        GameStats ticTacToe = new GameStats(user.getId(), "TICTACTOE");
+        ticTacToe.setGamesPlayed(40);
+        ticTacToe.setWins(22);
+        ticTacToe.setLosses(15);
+        ticTacToe.setDraws(3);
+        GameStats snake = new GameStats(user.getId(), "SNAKE");
+        snake.setGamesPlayed(64);
+        snake.setBestScore(910);
+        snake.setTotalScore(21_450);
+        return new PlayerStats(user, List.of(ticTacToe, snake));
+    }
+
+    static Match match(User user, long id) {
+        Match match = new Match(user, id % 2 == 0 ? "TICTACTOE" : "SNAKE", (int) (id * 37 % 1000),
+                id % 3 == 0 ? "LOSS" : "WIN");
+        match.setId(id);
+        match.setPlayedAt(PLAYED_AT.plusMinutes(id));
+        return match;
+    }
+
+    static ChatMessage chatMessage(String sender) {
+        ChatMessage message = new ChatMessage();
+        message.setSender(sender);
+        message.setType(ChatMessage.MessageType.CHAT);
+        message.setContent("gg, rematch in the arena? I'll take the left side this time");
+        return message;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demo.bench;
+
+import com.example.demo.model.GameStats;
+import com.example.demo.model.PlayerStats;
+import com.example.demo.model.User;
+import com.example.demo.service.GameResultService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameResultBenchmark {
+
+    // Players spread across every rank band as (wins, losses, snakeHighScore, playTime hours)
+    private static final double[][] PLAYERS = {
+            { 0, 0, 0, 0.0 },
+            { 3, 5, 120, 2.5 },
+            { 9, 4, 640, 12.0 },
+            { 22, 15, 900, 40.0 },
+            { 41, 30, 1200, 90.0 },
+            { 80, 52, 2400, 300.0 } };
+
+    private final User user = new User();
+    private final GameStats ticTacToe = new GameStats(1L, "TICTACTOE");
+    private final GameStats snake = new GameStats(1L, "SNAKE");
+    private final PlayerStats player = new PlayerStats(user, List.of(ticTacToe, snake));
+    private int cursor;
+
+    // Every invocation starts from a known player so the rank branch taken stays stable across runs
+    private PlayerStats nextPlayer() {
+        cursor = (cursor + 1) % PLAYERS.length;
+        double[] p = PLAYERS[cursor];
+        ticTacToe.setWins((int) p[0]);
+        ticTacToe.setTrustedWins((int) p[0]);
+        ticTacToe.setLosses((int) p[1]);
+        snake.setBestScore((int) p[2]);
+        user.setPlayTime(p[3]);
+        return player;
+    }
+
+    @Benchmark
+    public PlayerStats baseline() {
+        return nextPlayer();
+    }
+
+    @Benchmark
+    public GameStats ticTacToeWin() {
+        return GameResultService.applyResult(nextPlayer(), "TICTACTOE", 0, "WIN", 45.0, true);
+    }
+
+    @Benchmark
+    public GameStats ticTacToeLoss() {
+        return GameResultService.applyResult(nextPlayer(), "TICTACTOE", 0, "LOSS", 30.0, true);
+    }
+
+    @Benchmark
+    public GameStats snakeRun() {
+        return GameResultService.applyResult(nextPlayer(), "SNAKE", 750, "COMPLETED", 120.0, false);
+    }
+}
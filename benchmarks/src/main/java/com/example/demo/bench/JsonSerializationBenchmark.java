@@ -0,0 +1,66 @@
+package com.example.demo.bench;
+
+import com.example.demo.dto.UserProfileDTO;
+import com.example.demo.model.ChatMessage;
+import com.example.demo.model.Match;
+import com.example.demo.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonSerializationBenchmark {
+
+    private static final int HISTORY_SIZE = 20;
+
+    private ObjectMapper mapper;
+    private User user;
+    private UserProfileDTO profile;
+    private Match match;
+    private List<Match> history;
+    private ChatMessage chatMessage;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring Boot applies to the mapper behind the REST controllers
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        user = Fixtures.user(42L, "veteran");
+        profile = UserProfileDTO.from(Fixtures.player(user));
+        match = Fixtures.match(user, 1);
+        history = new ArrayList<>();
+        for (long id = 1; id <= HISTORY_SIZE; id++) {
+            history.add(Fixtures.match(user, id));
+        }
+        chatMessage = Fixtures.chatMessage("veteran");
+    }
+
+    @Benchmark
+    public byte[] user() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(profile);
+    }
+
+    @Benchmark
+    public byte[] match() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(match);
+    }
+
+    @Benchmark
+    public byte[] matchHistory() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(history);
+    }
+
+    @Benchmark
+    public byte[] chatMessage() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(chatMessage);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.bench;
+
+import com.example.demo.service.TicTacToeSolverService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TicTacToeSolverBenchmark {
+
+    // A spread of mid-game positions as (x, o) mask pairs
+    private static final int[][] POSITIONS = {
+            { 0b000000000, 0b000000000 },
+            { 0b000000001, 0b000010000 },
+            { 0b000000011, 0b000010000 },
+            { 0b100000001, 0b000010010 },
+            { 0b001100001, 0b010010000 },
+            { 0b101000100, 0b000011010 } };
+
+    private TicTacToeSolverService solver;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        solver = new TicTacToeSolverService();
+    }
+
+    private int[] nextPosition() {
+        cursor = (cursor + 1) % POSITIONS.length;
+        return POSITIONS[cursor];
+    }
+
+    @Benchmark
+    public int bestMove() {
+        int[] p = nextPosition();
+        return solver.bestMove(p[0], p[1]);
+    }
+
+    @Benchmark
+    public int evaluate() {
+        int[] p = nextPosition();
+        return solver.evaluate(p[0], p[1]);
+    }
+
+    @Benchmark
+    public int chooseMoveWithMistakes() {
+        int[] p = nextPosition();
+        return solver.chooseMove(p[0], p[1], 0.2);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int bestMoveContended() {
+        int[] p = nextPosition();
+        return solver.bestMove(p[0], p[1]);
+    }
+}
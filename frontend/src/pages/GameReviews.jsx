@@ -54,6 +54,7 @@ export default function GameReviews() {
     const [games, setGames] = useState([]);
     const [selectedGame, setSelectedGame] = useState(null);
     const [gameReviews, setGameReviews] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
     const [loading, setLoading] = useState(true);
 
     const [reviewText, setReviewText] = useState('');
@@ -120,6 +121,7 @@ export default function GameReviews() {
     useEffect(() => {
         if (!selectedGame) {
             setGameReviews([]);
+            setNextCursor(null);
             return;
         }
         let mounted = true;
@@ -127,7 +129,8 @@ export default function GameReviews() {
             try {
                 const res = await axios.get(`/api/games/${selectedGame.id}/reviews`);
                 if (!mounted) return;
-                setGameReviews(Array.isArray(res.data) ? res.data : []);
+                setGameReviews(Array.isArray(res.data?.reviews) ? res.data.reviews : []);
+                setNextCursor(res.data?.nextCursor || null);
             } catch (err) {
                 setGameReviews([
                     { id: 101, username: 'Ghost', rating: 5, comment: 'Excellent tactical depth.', createdAt: '2023-10-24' },
@@ -139,6 +142,17 @@ export default function GameReviews() {
         return () => { mounted = false; };
     }, [selectedGame]);
 
+    const loadMoreReviews = async () => {
+        if (!selectedGame || !nextCursor) return;
+        try {
+            const res = await axios.get(`/api/games/${selectedGame.id}/reviews`, { params: { cursor: nextCursor } });
+            setGameReviews((prev) => [...prev, ...(res.data?.reviews || [])]);
+            setNextCursor(res.data?.nextCursor || null);
+        } catch (err) {
+            console.error("Failed to load more reviews", err);
+        }
+    };
+
     // Submit Review
     const handleSubmitReview = async () => {
         if (!selectedGame || !reviewText.trim()) return;
@@ -323,7 +337,7 @@ export default function GameReviews() {
                             <div className="h-48 overflow-hidden relative">
                                 <img src={game.img} alt={game.title} className="w-full h-full object-cover group-hover:scale-110 transition-transform duration-700" />
                                 <div className="absolute top-2 right-2 bg-black/90 px-2 py-1 flex items-center gap-1 text-game-yellow text-xs font-bold font-mono border border-game-border">
-                                    <Star className="w-3 h-3 fill-current" /> {game.rating}
+                                    <Star className="w-3 h-3 fill-current" /> {Number(game.rating).toFixed(1)}
                                 </div>
                                 <div className="absolute inset-0 bg-game-red/10 opacity-0 group-hover:opacity-100 transition-opacity duration-300" />
                             </div>
@@ -409,6 +423,15 @@ export default function GameReviews() {
                                         ) : (
                                             <div className="text-center text-game-dim py-10 font-mono text-sm">NO INTELLIGENCE GATHERED YET.</div>
                                         )}
+                                        {nextCursor && (
+                                            <button
+                                                onClick={loadMoreReviews}
+                                                className="w-full py-3 border border-game-border text-xs font-bold uppercase tracking-widest text-game-dim hover:text-game-white hover:border-game-red transition-colors"
+                                                type="button"
+                                            >
+                                                Load Older Records
+                                            </button>
+                                        )}
                                     </div>
                                 </div>
                             </div>
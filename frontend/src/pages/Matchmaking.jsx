@@ -1,6 +1,9 @@
 import React, { useState, useRef, useLayoutEffect, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { gsap } from 'gsap';
+import axios from 'axios';
+import SockJS from 'sockjs-client';
+import { Stomp } from '@stomp/stompjs';
 // --- 3D IMPORTS ---
 import { Canvas } from '@react-three/fiber';
 import { Stars, Sparkles, Environment } from '@react-three/drei';
@@ -59,20 +62,58 @@ export default function Matchmaking() {
         };
     }, []);
 
+    const stompClientRef = useRef(null);
+    const intervalRef = useRef(null);
+
+    const stopQueue = () => {
+        clearInterval(intervalRef.current);
+        if (stompClientRef.current) {
+            stompClientRef.current.disconnect();
+            stompClientRef.current = null;
+        }
+        setSearching(false);
+        setTimer(0);
+    };
+
+    useEffect(() => {
+        return () => {
+            const username = localStorage.getItem('username');
+            if (stompClientRef.current && username) {
+                axios.delete(`/api/matchmaking/queue/${username}`).catch(() => { });
+            }
+            stopQueue();
+        };
+    }, []);
+
     const startQueue = () => {
+        const username = localStorage.getItem('username');
+        if (!username) {
+            navigate('/login');
+            return;
+        }
         setSearching(true);
+
+        // Subscribe before queueing so a fast match is never missed
+        const client = Stomp.over(new SockJS('http://localhost:8080/ws'));
+        client.connect({}, async () => {
+            client.subscribe(`/topic/matchmaking/${username}`, (payload) => {
+                const match = JSON.parse(payload.body);
+                stopQueue();
+                alert(`MATCH FOUND! ${match.game} vs ${match.opponent}`);
+            });
+            try {
+                await axios.post('/api/matchmaking/queue', { username, game: 'TICTACTOE' });
+            } catch (err) {
+                console.error('Failed to join queue', err);
+                stopQueue();
+            }
+        }, () => stopQueue());
+        stompClientRef.current = client;
+
         let t = 0;
-        const interval = setInterval(() => {
+        intervalRef.current = setInterval(() => {
             t += 1;
             setTimer(t);
-            // Mock Match Found after 5s (You can replace this logic later)
-            if (t > 4) {
-                clearInterval(interval);
-                alert("MATCH FOUND! (Connecting to Game Server...)");
-                setSearching(false);
-                setTimer(0);
-                // navigate('/games/snake'); // Example redirection
-            }
         }, 1000);
 
         // Radar Spinner Animation
@@ -10,6 +10,18 @@ const GRID_SIZE = 20;
 const CELL_SIZE = 20; // Will be dynamic based on container
 const SPEED = 100;
 
+// Seeded PRNG (mulberry32) so the backend can replay food placement exactly
+const mulberry32 = (seed) => () => {
+    seed |= 0;
+    seed = seed + 0x6D2B79F5 | 0;
+    let t = Math.imul(seed ^ seed >>> 15, 1 | seed);
+    t = t + Math.imul(t ^ t >>> 7, 61 | t) ^ t;
+    return ((t ^ t >>> 14) >>> 0) / 4294967296;
+};
+
+// Direction codes shared with the backend replay: tick << 2 | code
+const DIRECTION_CODES = { ArrowUp: 0, ArrowDown: 1, ArrowLeft: 2, ArrowRight: 3 };
+
 export default function SnakeGame() {
     const { playArcadePoint, playError, playClick } = useAudio();
     const { theme, cycleTheme } = useTheme();
@@ -60,6 +72,12 @@ export default function SnakeGame() {
 
     const startTimeRef = useRef(Date.now());
 
+    // Replay data for server-side score verification
+    const seedRef = useRef(0);
+    const randomRef = useRef(Math.random);
+    const tickRef = useRef(0);
+    const inputsRef = useRef([]);
+
     const initGame = useCallback(() => {
         setSnake([{ x: 10, y: 10 }]);
         setFood({ x: 15, y: 15 });
@@ -76,6 +94,11 @@ export default function SnakeGame() {
         gameOverRef.current = false;
         startTimeRef.current = Date.now(); // Start Timer
 
+        seedRef.current = (Math.random() * 4294967296) | 0;
+        randomRef.current = mulberry32(seedRef.current);
+        tickRef.current = 0;
+        inputsRef.current = [];
+
         if (gameLoopRef.current) clearInterval(gameLoopRef.current);
         gameLoopRef.current = setInterval(gameLoop, SPEED);
     }, []);
@@ -106,7 +129,10 @@ export default function SnakeGame() {
                 game: 'SNAKE',
                 score: scoreRef.current,
                 duration: durationSeconds, // Send Duration
-                result: 'COMPLETED'
+                result: 'COMPLETED',
+                seed: seedRef.current,
+                ticks: tickRef.current,
+                inputs: inputsRef.current
             });
 
             // Backend returns Update User object
@@ -126,6 +152,7 @@ export default function SnakeGame() {
 
     const gameLoop = () => {
         if (gameOverRef.current) return;
+        tickRef.current += 1;
 
         const head = { ...snakeRef.current[0] };
         head.x += directionRef.current.x;
@@ -151,9 +178,10 @@ export default function SnakeGame() {
             scoreRef.current += 10;
             setScore(scoreRef.current);
             // New Food
+            const random = randomRef.current;
             foodRef.current = {
-                x: Math.floor(Math.random() * 30),
-                y: Math.floor(Math.random() * 20)
+                x: Math.floor(random() * 30),
+                y: Math.floor(random() * 20)
             };
             setFood(foodRef.current);
         } else {
@@ -179,6 +207,10 @@ export default function SnakeGame() {
                 case 'ArrowLeft': if (directionRef.current.x === 0) directionRef.current = { x: -1, y: 0 }; break;
                 case 'ArrowRight': if (directionRef.current.x === 0) directionRef.current = { x: 1, y: 0 }; break;
             }
+            if (e.key in DIRECTION_CODES && !gameOverRef.current) {
+                // Applied before the next tick runs
+                inputsRef.current.push(tickRef.current * 4 + DIRECTION_CODES[e.key]);
+            }
         };
         window.addEventListener('keydown', handleKey);
         return () => window.removeEventListener('keydown', handleKey);
@@ -72,22 +72,25 @@ export default function TicTacToeGame() {
         }
     }, [isPlayerTurn, winner]);
 
-    const makeAIMove = () => {
-        // Simple AI: Random empty spot (Upgrade to Minimax later if needed)
-        // Or slightly smarter: Block player win?
-
+    const makeAIMove = async () => {
         const emptyIndices = board.map((v, i) => v === null ? i : null).filter(v => v !== null);
         if (emptyIndices.length === 0) return;
 
-        // 1. Try to Win
-        // 2. Block Player
-        // 3. Random
+        // Adaptive: the more the player wins, the fewer mistakes the solver makes
+        const difficulty = stats.wins > stats.losses * 2 ? 'HARD' : stats.wins > stats.losses ? 'MEDIUM' : 'EASY';
 
-        // Simple Random for now
-        const randIdx = emptyIndices[Math.floor(Math.random() * emptyIndices.length)];
+        let aiIdx;
+        try {
+            const boardParam = board.map(v => v || '-').join('');
+            const res = await axios.get('/api/tictactoe/ai/move', { params: { board: boardParam, difficulty } });
+            aiIdx = res.data.move;
+        } catch (e) {
+            // Fall back to a random empty spot if the solver is unreachable
+            aiIdx = emptyIndices[Math.floor(Math.random() * emptyIndices.length)];
+        }
 
         const newBoard = [...board];
-        newBoard[randIdx] = 'O';
+        newBoard[aiIdx] = 'O';
         setBoard(newBoard);
 
         const result = checkWinner(newBoard);
@@ -0,0 +1,184 @@
+package com.example.demo.loadtest;
+
+import com.example.demo.model.ChatMessage;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Thousands of STOMP sessions spread over a set of rooms, each chatting at a steady pace.
+// Delivery latency is measured on the sender's own message coming back through the room broadcast.
+class ChatScenario {
+
+    private static final int CONNECT_CONCURRENCY = 64;
+    private static final long DRAIN_MILLIS = 5_000;
+    private static final String MARKER = "lt|";
+
+    private final String baseUrl;
+    private final Settings settings;
+    private final LoadReport report;
+    private final HttpScenarios http;
+
+    private EndpointStats connectStats;
+    private EndpointStats sendStats;
+    private EndpointStats deliveryStats;
+    private final LongAdder framesReceived = new LongAdder();
+
+    ChatScenario(String baseUrl, Settings settings, LoadReport report, HttpScenarios http) {
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+        this.report = report;
+        this.http = http;
+    }
+
+    void run(List<String> usernames) throws InterruptedException {
+        int clients = settings.getInt("stomp-clients");
+        int rooms = Math.max(1, Math.min(settings.getInt("rooms"), clients));
+        List<String> roomIds = http.createRooms(rooms, clients / rooms + 2);
+        if (roomIds.isEmpty() || usernames.isEmpty()) {
+            report.note("chat: skipped, no rooms or users were created");
+            return;
+        }
+        http.joinRooms(usernames, roomIds, clients);
+        connectStats = report.endpoint("stomp-connect", "CONNECT /ws + SUBSCRIBE room");
+        sendStats = report.endpoint("chat-send", "SEND /app/chat/{id}/sendMessage");
+        deliveryStats = report.endpoint("chat-delivery", "SEND -> MESSAGE /topic/room/{id}");
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        String url = baseUrl.replaceFirst("^http", "ws") + "/ws/websocket"; // raw WebSocket transport of the SockJS endpoint
+
+        List<Client> connected = connectAll(stompClient, url, usernames, roomIds, clients);
+        report.note(String.format("chat: %d of %d STOMP clients connected across %d rooms", connected.size(),
+                clients, roomIds.size()));
+
+        int messages = settings.getInt("messages-per-client");
+        long interval = settings.getInt("message-interval-ms");
+        ScheduledExecutorService senders = Executors.newScheduledThreadPool(4);
+        for (Client client : connected) {
+            // Random phase so the clients do not all fire on the same tick
+            long initialDelay = ThreadLocalRandom.current().nextLong(interval);
+            client.task = senders.scheduleAtFixedRate(client::sendNext, initialDelay, interval, TimeUnit.MILLISECONDS);
+        }
+        long deadline = System.currentTimeMillis() + (messages + 1) * interval + DRAIN_MILLIS;
+        while (System.currentTimeMillis() < deadline && !connected.stream().allMatch(client -> client.task.isDone())) {
+            Thread.sleep(100);
+        }
+        senders.shutdownNow();
+        Thread.sleep(DRAIN_MILLIS); // late broadcasts still count, anything after this is lost
+
+        long lost = 0;
+        for (Client client : connected) {
+            lost += Math.max(0, client.sent.get() - client.received.get());
+            client.session.disconnect();
+        }
+        for (long i = 0; i < lost; i++) {
+            deliveryStats.error();
+        }
+        stompClient.stop();
+        report.note(String.format("chat: %d room frames delivered, %d own messages never came back", framesReceived.sum(), lost));
+    }
+
+    private List<Client> connectAll(WebSocketStompClient stompClient, String url, List<String> usernames,
+            List<String> roomIds, int clients) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(CONNECT_CONCURRENCY);
+        List<CompletableFuture<Client>> pending = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            Client client = new Client(i, usernames.get(i % usernames.size()), roomIds.get(i % roomIds.size()));
+            inFlight.acquire();
+            long start = System.nanoTime();
+            CompletableFuture<Client> future = stompClient.connectAsync(url, new StompSessionHandlerAdapter() {
+            }).thenApply(session -> {
+                client.session = session;
+                session.subscribe("/topic/room/" + client.roomId, client);
+                ChatMessage join = new ChatMessage();
+                join.setSender(client.username);
+                join.setType(ChatMessage.MessageType.JOIN);
+                session.send("/app/chat/" + client.roomId + "/addUser", join);
+                connectStats.success(start, System.nanoTime());
+                return client;
+            }).exceptionally(e -> {
+                connectStats.error(start, System.nanoTime());
+                return null;
+            }).whenComplete((c, e) -> inFlight.release());
+            pending.add(future);
+        }
+
+        List<Client> connected = new ArrayList<>();
+        for (CompletableFuture<Client> future : pending) {
+            Client client = future.join();
+            if (client != null) {
+                connected.add(client);
+            }
+        }
+        return connected;
+    }
+
+    private class Client implements StompFrameHandler {
+        private final String username;
+        private final String roomId;
+        private final String prefix;
+        private final AtomicInteger sent = new AtomicInteger();
+        private final AtomicInteger received = new AtomicInteger();
+        private volatile StompSession session;
+        private volatile ScheduledFuture<?> task;
+
+        private Client(int index, String username, String roomId) {
+            this.username = username;
+            this.roomId = roomId;
+            this.prefix = MARKER + index + "|";
+        }
+
+        private void sendNext() {
+            if (sent.get() >= settings.getInt("messages-per-client")) {
+                task.cancel(false);
+                return;
+            }
+            ChatMessage message = new ChatMessage();
+            message.setSender(username);
+            message.setType(ChatMessage.MessageType.CHAT);
+            long start = System.nanoTime();
+            message.setContent(prefix + start);
+            try {
+                session.send("/app/chat/" + roomId + "/sendMessage", message);
+                sent.incrementAndGet();
+                sendStats.success(start, System.nanoTime());
+            } catch (RuntimeException e) {
+                sendStats.error(start, System.nanoTime());
+            }
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return ChatMessage.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            framesReceived.increment();
+            ChatMessage message = (ChatMessage) payload;
+            String content = message.getContent();
+            if (content != null && content.startsWith(prefix)) {
+                long sentAt = Long.parseLong(content.substring(prefix.length()));
+                received.incrementAndGet();
+                deliveryStats.success(sentAt, System.nanoTime());
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.loadtest;
+
+import com.example.demo.Application;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// The real backend, started in this JVM on a random port with an in-memory H2 database
+final class EmbeddedBackend {
+
+    private EmbeddedBackend() {
+    }
+
+    static ConfigurableApplicationContext start(boolean virtualThreads, long dbLatencyMillis) throws IOException {
+        Path dataDir = Files.createTempDirectory("loadtest");
+        SpringApplication app = new SpringApplication(Application.class);
+        if (dbLatencyMillis > 0) {
+            // Registered ahead of the backend's own post-processors, so this wraps the raw pool
+            app.addInitializers(context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new SlowDataSource(dataSource, dbLatencyMillis) : bean;
+                }
+            }));
+        }
+        // Command-line properties win over application.properties
+        return app.run(
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + dataDir.getFileName() + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--chat.rooms.snapshot-path=" + dataDir.resolve("chat-rooms.snapshot"),
+                // Every generated client shares 127.0.0.1, which the per-address submit limit would otherwise throttle
+                "--ratelimit.submit.capacity=1000000",
+                "--ratelimit.submit.per-second=1000000");
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+    }
+}
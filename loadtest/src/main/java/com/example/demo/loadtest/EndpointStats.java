@@ -0,0 +1,98 @@
+package com.example.demo.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Outcome counters and a latency histogram for one endpoint, recorded from any thread
+class EndpointStats {
+
+    private static final long MAX_TRACKED_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final String name;
+    private final String description;
+    private final ConcurrentHistogram latencies = new ConcurrentHistogram(MAX_TRACKED_NANOS, 3);
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder throttled = new LongAdder(); // 429s: the rate limiter doing its job, not failures
+    private final LongAccumulator firstStart = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator lastEnd = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    EndpointStats(String name, String description) {
+        this.name = name;
+        this.description = description;
+    }
+
+    void success(long startNanos, long endNanos) {
+        ok.increment();
+        latency(startNanos, endNanos);
+    }
+
+    void error(long startNanos, long endNanos) {
+        errors.increment();
+        latency(startNanos, endNanos);
+    }
+
+    // Failures with no meaningful duration, e.g. a chat message that never arrived
+    void error() {
+        errors.increment();
+    }
+
+    void throttled(long startNanos, long endNanos) {
+        throttled.increment();
+        latency(startNanos, endNanos);
+    }
+
+    private void latency(long startNanos, long endNanos) {
+        latencies.recordValue(Math.min(MAX_TRACKED_NANOS, Math.max(0, endNanos - startNanos)));
+        firstStart.accumulate(startNanos);
+        lastEnd.accumulate(endNanos);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getDescription() {
+        return description;
+    }
+
+    long getOk() {
+        return ok.sum();
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    long getThrottled() {
+        return throttled.sum();
+    }
+
+    long getTotal() {
+        return getOk() + getErrors() + getThrottled();
+    }
+
+    double getErrorRate() {
+        long total = getTotal();
+        return total > 0 ? (double) getErrors() / total : 0.0;
+    }
+
+    // Completed requests per second over the span this endpoint was actually exercised
+    double getThroughput() {
+        long span = lastEnd.get() - firstStart.get();
+        return span > 0 ? getTotal() * 1e9 / span : 0.0;
+    }
+
+    double percentileMillis(double percentile) {
+        Histogram copy = latencies.copy();
+        return copy.getTotalCount() > 0 ? copy.getValueAtPercentile(percentile) / 1e6 : 0.0;
+    }
+
+    double maxMillis() {
+        return latencies.getTotalCount() > 0 ? latencies.getMaxValue() / 1e6 : 0.0;
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.demo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+// Closed-loop REST scenarios: a fixed pool of workers, each sending its next request as soon as the last returns
+class HttpScenarios {
+
+    private static final String[] RESULTS = { "WIN", "LOSS", "DRAW" };
+
+    private final String baseUrl;
+    private final Settings settings;
+    private final LoadReport report;
+    private final int concurrency;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    HttpScenarios(String baseUrl, Settings settings, LoadReport report) {
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+        this.report = report;
+        this.concurrency = settings.getInt("concurrency");
+    }
+
+    // Usernames carry a per-run suffix so repeated runs against the same database do not collide
+    List<String> signupStorm() {
+        EndpointStats stats = report.endpoint("signup", "POST /api/auth/signup");
+        List<String> created = Collections.synchronizedList(new ArrayList<>());
+        runCount(settings.getInt("users"), i -> {
+            String username = "lt" + runId + "u" + i;
+            if (send(stats, "POST", "/api/auth/signup",
+                    Map.of("username", username, "email", username + "@load.test", "password", password(username))) != null) {
+                created.add(username);
+            }
+        });
+        Collections.sort(created);
+        return created;
+    }
+
+    void loginStorm(List<String> usernames) {
+        EndpointStats stats = report.endpoint("login", "POST /api/auth/login");
+        int perUser = settings.getInt("logins-per-user");
+        runCount(usernames.size() * perUser, i -> {
+            String username = usernames.get(i % usernames.size());
+            send(stats, "POST", "/api/auth/login", Map.of("username", username, "password", password(username)));
+        });
+    }
+
+    void submitBurst(List<String> usernames) {
+        EndpointStats stats = report.endpoint("submit", "POST /api/games/submit");
+        runTimed(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            send(stats, "POST", "/api/games/submit", Map.of(
+                    "username", usernames.get(random.nextInt(usernames.size())),
+                    "game", "TICTACTOE",
+                    "score", 0,
+                    "result", RESULTS[random.nextInt(RESULTS.length)],
+                    "duration", 20 + random.nextInt(100)));
+        });
+    }
+
+    // Roughly what a dashboard page load looks like: leaderboard and own stats, now and then the catalog
+    void readMix(List<String> usernames) {
+        EndpointStats leaderboard = report.endpoint("leaderboard", "GET /api/users/leaderboard");
+        EndpointStats dashboard = report.endpoint("dashboard", "GET /api/users/{username}/stats");
+        EndpointStats catalog = report.endpoint("catalog", "GET /api/games");
+        runTimed(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int pick = random.nextInt(10);
+            if (pick < 4) {
+                send(leaderboard, "GET", "/api/users/leaderboard", null);
+            } else if (pick < 8) {
+                send(dashboard, "GET", "/api/users/" + usernames.get(random.nextInt(usernames.size())) + "/stats", null);
+            } else {
+                send(catalog, "GET", "/api/games", null);
+            }
+        });
+    }
+
+    // Returns the ids of the rooms that were created
+    List<String> createRooms(int rooms, int maxMembers) {
+        EndpointStats stats = report.endpoint("create-room", "POST /api/chat/rooms");
+        List<String> roomIds = Collections.synchronizedList(new ArrayList<>());
+        runCount(rooms, i -> {
+            JsonNode room = send(stats, "POST", "/api/chat/rooms",
+                    Map.of("name", "Load " + runId + " #" + i, "maxMembers", maxMembers, "createdBy", "loadtest"));
+            if (room != null && room.hasNonNull("id")) {
+                roomIds.add(room.get("id").asText());
+            }
+        });
+        return roomIds;
+    }
+
+    void joinRooms(List<String> usernames, List<String> roomIds, int clients) {
+        EndpointStats stats = report.endpoint("join-room", "POST /api/chat/rooms/{id}/join");
+        runCount(clients, i -> send(stats, "POST", "/api/chat/rooms/" + roomIds.get(i % roomIds.size()) + "/join",
+                Map.of("username", usernames.get(i % usernames.size()))));
+    }
+
+    // Records the outcome and returns the parsed body of a 2xx response, or null on any failure
+    private JsonNode send(EndpointStats stats, String method, String path, Object body) {
+        long start = System.nanoTime();
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30));
+            if (body != null) {
+                request.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)));
+            } else {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+            HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            long end = System.nanoTime();
+            if (response.statusCode() == 429) {
+                stats.throttled(start, end);
+                return null;
+            }
+            if (response.statusCode() / 100 != 2) {
+                stats.error(start, end);
+                return null;
+            }
+            stats.success(start, end);
+            return parse(response.body());
+        } catch (IOException e) {
+            stats.error(start, System.nanoTime());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private JsonNode parse(byte[] body) {
+        try {
+            return body.length > 0 ? mapper.readTree(body) : null;
+        } catch (IOException e) {
+            return null; // plain-text responses are still successes
+        }
+    }
+
+    private static String password(String username) {
+        return "pw-" + username;
+    }
+
+    private void runCount(int total, IntConsumer task) {
+        AtomicInteger next = new AtomicInteger();
+        runWorkers(() -> {
+            for (int i = next.getAndIncrement(); i < total; i = next.getAndIncrement()) {
+                task.accept(i);
+            }
+        });
+    }
+
+    private void runTimed(Runnable task) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.getInt("phase-seconds"));
+        runWorkers(() -> {
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                task.run();
+            }
+        });
+    }
+
+    private void runWorkers(Runnable worker) {
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            pool.execute(worker);
+        }
+        pool.shutdown();
+        try {
+            pool.awaitTermination(1, TimeUnit.HOURS);
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Endpoints in the order the scenarios registered them, plus the pass/fail verdict
+class LoadReport {
+
+    private final Map<String, EndpointStats> endpoints = new LinkedHashMap<>();
+    private final List<String> notes = new ArrayList<>();
+
+    synchronized EndpointStats endpoint(String name, String description) {
+        return endpoints.computeIfAbsent(name, key -> new EndpointStats(key, description));
+    }
+
+    synchronized void note(String note) {
+        notes.add(note);
+    }
+
+    synchronized void print() {
+        System.out.println();
+        System.out.printf("%-15s %-34s %8s %9s %7s %7s %7s %9s %9s %9s %9s%n", "endpoint", "route", "requests",
+                "req/s", "errors", "err%", "429s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (EndpointStats stats : endpoints.values()) {
+            System.out.printf("%-15s %-34s %8d %9.1f %7d %7.2f %7d %9.2f %9.2f %9.2f %9.2f%n", stats.getName(),
+                    stats.getDescription(), stats.getTotal(), stats.getThroughput(), stats.getErrors(),
+                    stats.getErrorRate() * 100, stats.getThrottled(), stats.percentileMillis(50),
+                    stats.percentileMillis(95), stats.percentileMillis(99), stats.maxMillis());
+        }
+        for (String note : notes) {
+            System.out.println("  " + note);
+        }
+        System.out.println();
+    }
+
+    // Throughput and tail latency per endpoint, one column pair per run; runs share the JVM, so later ones start warmer
+    static void printComparison(Map<String, LoadReport> reports) {
+        System.out.printf("%-15s", "endpoint");
+        reports.keySet().forEach(mode -> System.out.printf(" %14s %14s", mode + " req/s", mode + " p99"));
+        System.out.println();
+        LoadReport first = reports.values().iterator().next();
+        for (String name : first.endpoints.keySet()) {
+            System.out.printf("%-15s", name);
+            for (LoadReport report : reports.values()) {
+                EndpointStats stats = report.endpoints.get(name);
+                if (stats == null) {
+                    System.out.printf(" %14s %14s", "-", "-");
+                } else {
+                    System.out.printf(" %14.1f %11.2f ms", stats.getThroughput(), stats.percentileMillis(99));
+                }
+            }
+            System.out.println();
+        }
+        System.out.println();
+    }
+
+    // Every breached threshold, empty when the run passes
+    synchronized List<String> check(Settings settings) {
+        List<String> violations = new ArrayList<>();
+        double maxErrorRate = settings.getDouble("max-error-rate");
+        for (EndpointStats stats : endpoints.values()) {
+            if (stats.getTotal() == 0) {
+                violations.add(stats.getName() + ": no requests completed");
+                continue;
+            }
+            if (stats.getErrorRate() > maxErrorRate) {
+                violations.add(String.format("%s: error rate %.2f%% above %.2f%%", stats.getName(),
+                        stats.getErrorRate() * 100, maxErrorRate * 100));
+            }
+            double p99 = stats.percentileMillis(99);
+            double maxP99 = settings.getP99Millis(stats.getName());
+            if (p99 > maxP99) {
+                violations.add(String.format("%s: p99 %.2f ms above %.0f ms", stats.getName(), p99, maxP99));
+            }
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.loadtest;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Tournament-night load generator. Without --target=http://host:port it boots the backend in-process on H2.
+// Phases: signup storm, login storm, submit burst, read mix, STOMP chat. Every option is --key=value,
+// see Settings for the list and defaults; per-endpoint p99 budgets are set with --max-p99-ms.<endpoint>=ms.
+// --threads=compare runs everything once on platform threads and once on virtual threads, each against
+// a fresh embedded backend, and prints both side by side; pair it with --db-latency-ms to model a remote database.
+// Exits 1 when any endpoint breaks its error-rate or p99 threshold.
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.parse(args);
+        String threads = settings.get("threads");
+        String target = settings.get("target");
+
+        List<String> modes = "compare".equals(threads) ? List.of("platform", "virtual") : List.of(threads);
+        if (modes.contains("virtual") && target == null && Runtime.version().feature() < 21) {
+            System.out.println("Virtual threads need a Java 21+ runtime, this is Java " + Runtime.version().feature());
+            System.exit(2);
+        }
+        if (modes.size() > 1 && target != null) {
+            System.out.println("--threads=compare only works with the embedded backend");
+            System.exit(2);
+        }
+
+        Map<String, LoadReport> reports = new LinkedHashMap<>();
+        for (String mode : modes) {
+            reports.put(mode, run(settings, target, "virtual".equals(mode)));
+        }
+
+        List<String> violations = new ArrayList<>();
+        reports.forEach((mode, report) -> {
+            if (modes.size() > 1) {
+                System.out.println("== " + mode + " threads");
+            }
+            report.print();
+            report.check(settings).forEach(violation -> violations.add(
+                    modes.size() > 1 ? mode + " " + violation : violation));
+        });
+        if (modes.size() > 1) {
+            LoadReport.printComparison(reports);
+        }
+
+        if (violations.isEmpty()) {
+            System.out.println("PASS: all endpoints within thresholds");
+            System.exit(0);
+        }
+        System.out.println("FAIL:");
+        violations.forEach(violation -> System.out.println("  " + violation));
+        System.exit(1);
+    }
+
+    private static LoadReport run(Settings settings, String target, boolean virtualThreads) throws Exception {
+        LoadReport report = new LoadReport();
+        ConfigurableApplicationContext backend = null;
+        if (target == null) {
+            backend = EmbeddedBackend.start(virtualThreads, settings.getInt("db-latency-ms"));
+            target = "http://localhost:" + EmbeddedBackend.port(backend);
+        }
+        System.out.println("Load test against " + target + " with " + settings.asMap()
+                + (backend != null ? ", virtual threads " + virtualThreads : ""));
+
+        try {
+            HttpScenarios http = new HttpScenarios(target, settings, report);
+            phase("signup storm");
+            List<String> usernames = http.signupStorm();
+            report.note("signup: " + usernames.size() + " users created");
+            if (!usernames.isEmpty()) {
+                phase("login storm");
+                http.loginStorm(usernames);
+                phase("game submit burst");
+                http.submitBurst(usernames);
+                phase("leaderboard and dashboard reads");
+                http.readMix(usernames);
+                phase("STOMP chat");
+                new ChatScenario(target, settings, report, http).run(usernames);
+            }
+        } finally {
+            if (backend != null) {
+                backend.close();
+            }
+        }
+        return report;
+    }
+
+    private static void phase(String name) {
+        System.out.println("-- " + name);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.demo.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// --key=value options layered over the defaults below
+class Settings {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("threads", "platform"); // platform, virtual, or compare (runs both, embedded only)
+        DEFAULTS.put("db-latency-ms", "0"); // simulated JDBC round trip for the embedded backend
+        DEFAULTS.put("users", "200");
+        DEFAULTS.put("concurrency", "32");
+        DEFAULTS.put("logins-per-user", "2");
+        DEFAULTS.put("phase-seconds", "15"); // length of the timed submit and read phases
+        DEFAULTS.put("stomp-clients", "1000");
+        DEFAULTS.put("rooms", "50");
+        DEFAULTS.put("messages-per-client", "10");
+        DEFAULTS.put("message-interval-ms", "500"); // stays under the default chat limit of 5/s per session
+        DEFAULTS.put("max-error-rate", "0.01");
+        DEFAULTS.put("max-p99-ms", "500");
+        // BCrypt is deliberately slow, so the auth storm gets a looser budget
+        DEFAULTS.put("max-p99-ms.signup", "2000");
+        DEFAULTS.put("max-p99-ms.login", "2000");
+        DEFAULTS.put("max-p99-ms.stomp-connect", "2000");
+        DEFAULTS.put("max-p99-ms.chat-delivery", "1000");
+    }
+
+    private final Map<String, String> values = new LinkedHashMap<>(DEFAULTS);
+
+    static Settings parse(String[] args) {
+        Settings settings = new Settings();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            settings.values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return settings;
+    }
+
+    String get(String key) {
+        return values.get(key);
+    }
+
+    int getInt(String key) {
+        return Integer.parseInt(values.get(key));
+    }
+
+    double getDouble(String key) {
+        return Double.parseDouble(values.get(key));
+    }
+
+    double getP99Millis(String endpoint) {
+        return getDouble(values.containsKey("max-p99-ms." + endpoint) ? "max-p99-ms." + endpoint : "max-p99-ms");
+    }
+
+    Map<String, String> asMap() {
+        return values;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo.loadtest;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Adds a fixed round trip to every statement and commit, so the in-memory H2 database behaves
+// like MySQL across a network and requests really do sit blocked on JDBC
+class SlowDataSource extends DelegatingDataSource {
+
+    private final long latencyMillis;
+
+    SlowDataSource(DataSource target, long latencyMillis) {
+        super(target);
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, super.getConnection(username, password));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T wrap(Class<T> type, T target) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("execute") || name.equals("commit")) {
+                Thread.sleep(latencyMillis);
+            }
+            try {
+                Object result = method.invoke(target, args);
+                // Statements handed out by a slow connection are slow too
+                if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                    return wrap((Class<Object>) method.getReturnType(), statement);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+}